@@ -1,15 +1,11 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Split;
 import org.poo.entities.Account.Account;
-import org.poo.repository.AccountRepository;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
 import org.poo.repository.SplitsRepository;
-import org.poo.repository.TransactionRepository;
 import org.poo.fileio.CommandInput;
-import org.poo.services.ExchangeService;
 
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
@@ -19,12 +15,6 @@ import java.util.List;
  * Command class to handle the acceptance of a split payment by a user.
  */
 public class AcceptSplitPayment implements Command {
-    private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
-    private final SplitsRepository splitsRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
     private static final DecimalFormatSymbols SYMBOLS;
     private static final DecimalFormat DECIMAL_FORMAT;
 
@@ -35,27 +25,6 @@ public class AcceptSplitPayment implements Command {
         DECIMAL_FORMAT = new DecimalFormat("0.00", SYMBOLS);
     }
 
-    /**
-     * Constructor to initialize repositories, command input, and output nodes.
-     *
-     * @param accountRepository     Repository for managing accounts.
-     * @param transactionRepository Repository for managing transactions.
-     * @param splitsRepository      Repository for managing splits.
-     * @param command               Command input containing user data.
-     * @param output                Output node to store the result of the command.
-     */
-    public AcceptSplitPayment(final AccountRepository accountRepository,
-                              final TransactionRepository transactionRepository,
-                              final SplitsRepository splitsRepository,
-                              final CommandInput command,
-                              final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
-        this.splitsRepository = splitsRepository;
-        this.command = command;
-        this.output = output;
-    }
-
     /**
      * Executes the logic to accept a split payment.
      * - Validates if the user is part of any split.
@@ -64,34 +33,16 @@ public class AcceptSplitPayment implements Command {
      * - Finalizes the split if all users accept.
      */
     @Override
-    public void execute() {
-        String email = command.getEmail();
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final SplitsRepository splitsRepository = context.getSplitsRepository();
+        final OutputSink output = context.getOutput();
 
-        // Check if the user is part of any split.
-        int ok = 0;
-        for (Split split : splitsRepository.getAllSplits()) {
-            for (Account account : split.getAccounts()) {
-                if (account.getOwner().getEmail().equals(email)) {
-                    ok = 1;
-                    break;
-                }
-            }
-        }
+        String email = command.getEmail();
 
         // If the user is not part of any split, add a response to the output and return.
-        if (ok == 0) {
-            ObjectMapper mapper = new ObjectMapper();
-            ObjectNode resultNode = mapper.createObjectNode();
-            resultNode.put("command", "acceptSplitPayment");
-            resultNode.put("timestamp", command.getTimestamp());
-
-            ObjectNode outputNode = mapper.createObjectNode();
-            outputNode.put("description", "User not found");
-            outputNode.put("timestamp", command.getTimestamp());
-
-            resultNode.set("output", outputNode);
-
-            output.add(resultNode);
+        if (!splitsRepository.hasPendingSplits(email)) {
+            output.add(JsonOutput.errorOutput("acceptSplitPayment", "User not found",
+                    command.getTimestamp()));
 
             return;
         }
@@ -100,11 +51,11 @@ public class AcceptSplitPayment implements Command {
             // Update the acceptance status for the user.
             Split split = splitsRepository.updateAcceptedStatus(email, true);
 
-            withdrawFunds(email, split);
+            withdrawFunds(context, command, email, split);
 
             // Finalize the split if all users have accepted it.
             if (split.allAccepted()) {
-                finalizeSplit(split);
+                finalizeSplit(context, split);
             }
         } catch (IllegalArgumentException e) {
             System.err.println(e.getMessage());
@@ -114,40 +65,55 @@ public class AcceptSplitPayment implements Command {
     /**
      * Withdraws funds from the account of the user who accepted the split.
      *
+     * @param context the context the command runs in.
+     * @param command the command input.
      * @param email Email of the user accepting the split.
      * @param split Split object associated with the payment.
      */
-    private void withdrawFunds(final String email, final Split split) {
+    private void withdrawFunds(final ExecutionContext context, final CommandInput command,
+                               final String email, final Split split) {
         List<Account> accounts = split.getAccounts();
         List<Double> amounts = split.getAmountForUsers();
-        String currency = split.getCurrency();
 
+        // Positions of the user's accounts in the split
+        int[] positions = new int[accounts.size()];
+        int count = 0;
         for (int i = 0; i < accounts.size(); i++) {
-            Account account = accounts.get(i);
-            if (account.getOwner().getEmail().equalsIgnoreCase(email)) {
-                double amount = amounts.get(i);
-                double finalAmount = account.getCurrency().equals(currency)
-                        ? amount
-                        : ExchangeService.getInstance().convert(amount, currency,
-                        account.getCurrency());
-
-                if (account.getBalance() < finalAmount) {
-                    return;
-                }
-
-                // Block the required amount for the split payment.
-                account.setBlockAmount(account.getBlockAmount() + finalAmount);
-              //  return;
+            if (accounts.get(i).getOwner().getEmail().equalsIgnoreCase(email)) {
+                positions[count++] = i;
+            }
+        }
+
+        // The user's shares, in the currencies of their accounts
+        double[] shares = new double[count];
+        int[] currencyIds = new int[count];
+        for (int j = 0; j < count; j++) {
+            shares[j] = amounts.get(positions[j]);
+            currencyIds[j] = accounts.get(positions[j]).getCurrencyId();
+        }
+        context.getBank().getExchangeService().convertAll(shares, split.getCurrencyId(),
+                currencyIds, command.getTimestamp(), shares);
+
+        for (int j = 0; j < count; j++) {
+            Account account = accounts.get(positions[j]);
+            if (account.getBalance() < shares[j]) {
+                return;
             }
+
+            // Block the required amount for the split payment.
+            account.setBlockAmount(account.getBlockAmount() + shares[j]);
         }
     }
 
     /**
      * Finalizes the split payment by removing the split and logging the transaction.
      *
+     * @param context the context the command runs in.
      * @param split Split object that has been fully accepted.
      */
-    private void finalizeSplit(final Split split) {
+    private void finalizeSplit(final ExecutionContext context, final Split split) {
+        final SplitsRepository splitsRepository = context.getSplitsRepository();
+
         splitsRepository.removeSplit(split);
     }
 }
@@ -3,6 +3,7 @@ package org.poo.commands;
 import org.poo.entities.Account.BusinessAccount;
 import org.poo.entities.User;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionType;
 import org.poo.entities.Account.Account;
 import org.poo.entities.Account.ClassicAccount;
@@ -13,32 +14,18 @@ import org.poo.repository.TransactionRepository;
 import org.poo.repository.UserRepository;
 import org.poo.repository.CardRepository;
 import org.poo.repository.AliasRepository;
-import org.poo.utils.Utils;
+import org.poo.utils.NumberGenerator;
 
 public final class AddAccount implements Command {
-    private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
-    private final CardRepository cardRepository;
-    private final AliasRepository aliasRepository;
-    private final CommandInput command;
-
-    public AddAccount(final AccountRepository accountRepository,
-                      final TransactionRepository transactionRepository,
-                      final UserRepository userRepository,
-                      final CardRepository cardRepository,
-                      final AliasRepository aliasRepository,
-                      final CommandInput command) {
-        this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
-        this.userRepository = userRepository;
-        this.cardRepository = cardRepository;
-        this.aliasRepository = aliasRepository;
-        this.command = command;
-    }
-
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final UserRepository userRepository = context.getUserRepository();
+        final CardRepository cardRepository = context.getCardRepository();
+        final AliasRepository aliasRepository = context.getAliasRepository();
+        final NumberGenerator numbers = context.getBank().getNumbers();
+
         User user = userRepository.findUserByEmail(command.getEmail());
         if (user == null) {
             throw new IllegalArgumentException("User not found.");
@@ -47,29 +34,36 @@ public final class AddAccount implements Command {
         Account account;
         if ("classic".equals(command.getAccountType())) {
             account = new ClassicAccount(
-                    Utils.generateIBAN(),
+                    numbers.generateIBAN(),
                     command.getCurrency(),
                     0,
                     user,
                     cardRepository,
-                    aliasRepository
+                    aliasRepository,
+                    context.getBank().getStrings(),
+                    context.getBank().getCurrencies()
             );
         } else if ("savings".equals(command.getAccountType())) {
             account = new SavingsAccount(
-                    Utils.generateIBAN(),
+                    numbers.generateIBAN(),
                     command.getCurrency(),
                     command.getInterestRate(),
                     user,
                     cardRepository,
-                    aliasRepository
+                    aliasRepository,
+                    context.getBank().getStrings(),
+                    context.getBank().getCurrencies()
             );
         } else if ("business".equals(command.getAccountType())) {
             account = new BusinessAccount(
-                    Utils.generateIBAN(),
+                    numbers.generateIBAN(),
                     command.getCurrency(),
                     user,
                     cardRepository,
-                    aliasRepository
+                    aliasRepository,
+                    context.getBank().getStrings(),
+                    context.getBank().getCurrencies(),
+                    context.getBank().getExchangeService()
             );
         } else {
             throw new IllegalArgumentException("Account type invalid " + command.getAccountType());
@@ -79,13 +73,14 @@ public final class AddAccount implements Command {
         accountRepository.addAccount(account);
 
         Transaction transaction = new Transaction(
+                transactionRepository.getStore(),
                 command.getEmail(),
                 account.getIban(),
                 account.getIban(),
                 0.0,
                 account.getCurrency(),
                 command.getTimestamp(),
-                "New account created",
+                TransactionDescription.NEW_ACCOUNT_CREATED,
                 TransactionType.ADD_ACCOUNT,
                 null,
                 null,
@@ -3,36 +3,19 @@ package org.poo.commands;
 import org.poo.entities.Account.AccountType;
 import org.poo.entities.Account.BusinessAccount;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionStatus;
 import org.poo.entities.TransactionType;
 import org.poo.fileio.CommandInput;
 import org.poo.repository.AccountRepository;
 import org.poo.entities.Account.Account;
 import org.poo.repository.TransactionRepository;
+import org.poo.utils.Money;
 
 /**
  * Command class to add funds to an account.
  */
 public final class AddFunds implements Command {
-    private final AccountRepository accountRepository;
-    private final CommandInput command;
-    private final TransactionRepository transactionRepository;
-
-    /**
-     * Constructor to initialize repositories and command input.
-     *
-     * @param accountRepository     Repository for managing accounts.
-     * @param command               Command input containing account and transaction details.
-     * @param transactionRepository Repository for managing transactions.
-     */
-    public AddFunds(final AccountRepository accountRepository,
-                    final CommandInput command,
-                    final TransactionRepository transactionRepository) {
-        this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
-        this.command = command;
-    }
-
     /**
      * Executes the add funds command.
      * - Finds the target account by IBAN.
@@ -41,7 +24,10 @@ public final class AddFunds implements Command {
      * - Records the transaction in the repository.
      */
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+
         // Retrieve the account based on IBAN.
         Account account = accountRepository.findAccountByIban(command.getAccount());
         if (account == null) {
@@ -65,17 +51,18 @@ public final class AddFunds implements Command {
 
         }
 
-        account.setBalance(account.getBalance() + command.getAmount());
+        account.credit(Money.ofUnits(command.getAmount(), Money.LEDGER_ROUNDING));
 
         // Create and record the transaction.
         Transaction transaction = new Transaction(
+                transactionRepository.getStore(),
                 command.getEmail(),
                 account.getIban(),
                 account.getIban(),
                 command.getAmount(),
                 command.getCurrency(),
                 command.getTimestamp(),
-                "Add funds",
+                TransactionDescription.ADD_FUNDS,
                 TransactionType.DEPOSIT,
                 null,
                 command.getCommerciant(),
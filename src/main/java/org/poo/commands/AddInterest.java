@@ -1,56 +1,40 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Account.Account;
 import org.poo.entities.Account.AccountType;
 import org.poo.entities.Account.SavingsAccount;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionStatus;
 import org.poo.entities.TransactionType;
 import org.poo.fileio.CommandInput;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
 import org.poo.repository.AccountRepository;
 import org.poo.repository.TransactionRepository;
+import org.poo.utils.Money;
 
 /**
  * Command to add interest to a savings account.
  */
 public final class AddInterest implements Command {
-    private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    public AddInterest(final AccountRepository accountRepository,
-                       final TransactionRepository transactionRepository,
-                       final CommandInput command,
-                       final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
-        this.command = command;
-        this.output = output;
-    }
-
     /**
      * Executes the add interest command.
      */
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final OutputSink output = context.getOutput();
+
         Account account = accountRepository.findAccountByIban(command.getAccount());
         if (account == null) {
             throw new IllegalArgumentException("Account not found: " + command.getAccount());
         }
 
         if (!account.getAccType().equals(AccountType.savings)) {
-            ObjectMapper mapper = new ObjectMapper();
-            ObjectNode errorResponse = mapper.createObjectNode();
-            errorResponse.put("command", "addInterest");
-            errorResponse.put("timestamp", command.getTimestamp());
-            ObjectNode outputNode = errorResponse.putObject("output");
-            outputNode.put("description", "This is not a savings account");
-            outputNode.put("timestamp", command.getTimestamp());
-            output.add(errorResponse);
+            output.add(JsonOutput.errorOutput("addInterest", "This is not a savings account",
+                    command.getTimestamp()));
             return;
         }
 
@@ -58,17 +42,19 @@ public final class AddInterest implements Command {
         double interestRate = savingsAccount.getInterestRate();
 
         // Calculate the interest and add it to the savings account
-        double interest = account.getBalance() * interestRate;
-        account.setBalance(account.getBalance() + interest);
+        long interest = Money.multiply(account.getBalanceMinorUnits(), interestRate,
+                Money.LEDGER_ROUNDING);
+        account.credit(interest);
 
         Transaction transaction = new Transaction(
+                transactionRepository.getStore(),
                 account.getOwner().getEmail(),
                 account.getIban(),
                 null,
-                interest,
+                Money.toUnits(interest),
                 account.getCurrency(),
                 command.getTimestamp(),
-                "Interest rate income",
+                TransactionDescription.INTEREST_RATE_INCOME,
                 TransactionType.ADD_INTEREST,
                 null,
                 null,
@@ -10,25 +10,6 @@ import org.poo.repository.UserRepository;
  * Command class to add a new associate to a business account.
  */
 public class AddNewBusinessAssociate implements Command {
-    private final AccountRepository accountRepository;
-    private final UserRepository userRepository;
-    private final CommandInput command;
-
-    /**
-     * Constructor to initialize repositories and command input.
-     *
-     * @param accountRepository Repository for managing accounts.
-     * @param userRepository    Repository for managing users.
-     * @param command           Command input containing account and associate details.
-     */
-    public AddNewBusinessAssociate(final AccountRepository accountRepository,
-                                   final UserRepository userRepository,
-                                   final CommandInput command) {
-        this.accountRepository = accountRepository;
-        this.userRepository = userRepository;
-        this.command = command;
-    }
-
     /**
      * Executes the command to add a new business associate.
      * - Validates the business account and user permissions.
@@ -36,7 +17,10 @@ public class AddNewBusinessAssociate implements Command {
      * - Adds the user as an associate with the specified role.
      */
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final UserRepository userRepository = context.getUserRepository();
+
         final String accountIban = command.getAccount();
         final String role = command.getRole();
         final String email = command.getEmail();
@@ -1,18 +1,20 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Account.BusinessAccount;
-import org.poo.entities.Transaction;
 import org.poo.entities.User;
-import org.poo.entities.spendings.Spending;
 import org.poo.fileio.CommandInput;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
 import org.poo.repository.AccountRepository;
 import org.poo.repository.SpendingsRepository;
 import org.poo.repository.TransactionRepository;
+import org.poo.repository.TransactionStore;
 import org.poo.repository.UserRepository;
 import org.poo.services.ExchangeService;
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.Money;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -26,46 +28,15 @@ import java.util.TreeMap;
 public final class BusinessReport implements Command {
     private static final double DEFAULT_LIMIT_RON = 500.0;
 
-    private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
-    private final SpendingsRepository spendingsRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    /**
-     * Constructor to initialize the repositories and command input.
-     *
-     * @param accountRepository Repository for managing accounts.
-     * @param transactionRepository Repository for managing transactions.
-     * @param userRepository Repository for managing users.
-     * @param spendingsRepository Repository for managing spendings.
-     * @param command Command input for report generation.
-     * @param output Output node to store the result.
-     */
-    public BusinessReport(final AccountRepository accountRepository,
-                          final TransactionRepository transactionRepository,
-                          final UserRepository userRepository,
-                          final SpendingsRepository spendingsRepository,
-                          final CommandInput command,
-                          final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
-        this.userRepository = userRepository;
-        this.spendingsRepository = spendingsRepository;
-        this.command = command;
-        this.output = output;
-    }
-
     /**
      * Executes the command to generate the business report.
      */
     @Override
-    public void execute() {
-        final ObjectMapper mapper = new ObjectMapper();
-        final ObjectNode result = mapper.createObjectNode();
-        result.put("command", "businessReport");
-        result.put("timestamp", command.getTimestamp());
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final OutputSink output = context.getOutput();
+
+        final ObjectNode result = JsonOutput.result("businessReport", command.getTimestamp());
 
         // Retrieve the business account by IBAN
         final String accountIban = command.getAccount();
@@ -90,11 +61,11 @@ public final class BusinessReport implements Command {
 
         if ("transaction".equals(reportType)) {
             generateTransactionReport(
-                    mapper, result, businessAccount, startTimestamp, endTimestamp
+                    context, result, businessAccount, startTimestamp, endTimestamp
             );
         } else if ("commerciant".equals(reportType)) {
             generateCommerciantReport(
-                    mapper, result, businessAccount, startTimestamp, endTimestamp
+                    context, result, businessAccount, startTimestamp, endTimestamp
             );
         } else {
             result.put("error", "Invalid report type");
@@ -103,69 +74,54 @@ public final class BusinessReport implements Command {
         output.add(result);
     }
 
-    private void generateTransactionReport(final ObjectMapper mapper,
+    private void generateTransactionReport(final ExecutionContext context,
                                            final ObjectNode result,
                                            final BusinessAccount businessAccount,
                                            final int startTimestamp,
                                            final int endTimestamp) {
-        final ObjectNode outputData = mapper.createObjectNode();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final UserRepository userRepository = context.getUserRepository();
+        final SpendingsRepository spendingsRepository = context.getSpendingsRepository();
+
+        final ObjectNode outputData = JsonOutput.objectNode();
         outputData.put("IBAN", businessAccount.getIban());
         outputData.put("balance", businessAccount.getBalance());
         outputData.put("currency", businessAccount.getCurrency());
 
-        final ExchangeService exchangeService = ExchangeService.getInstance();
+        final ExchangeService exchangeService = context.getBank().getExchangeService();
 
-        // Convert default limits to the account currency
-        final double defaultSpendingLimit = exchangeService.convert(
-                DEFAULT_LIMIT_RON, "RON", businessAccount.getCurrency()
-        );
-        final double defaultDepositLimit = exchangeService.convert(
-                DEFAULT_LIMIT_RON, "RON", businessAccount.getCurrency()
-        );
+        // Both default limits are the same amount, converted to the account currency
+        final double defaultLimit = exchangeService.convert(DEFAULT_LIMIT_RON,
+                CurrencyRegistry.RON, businessAccount.getCurrencyId(), endTimestamp);
 
         // Add limits to the output.
         outputData.put("spending limit", businessAccount.getSpendingLimits()
-                .getOrDefault(businessAccount.getOwnerEmail(), defaultSpendingLimit));
+                .getOrDefault(businessAccount.getOwnerEmail(), defaultLimit));
         outputData.put("deposit limit", businessAccount.getDepositLimits()
-                .getOrDefault(businessAccount.getOwnerEmail(), defaultDepositLimit));
+                .getOrDefault(businessAccount.getOwnerEmail(), defaultLimit));
         outputData.put("statistics type", "transaction");
 
-        final ArrayNode managersArray = mapper.createArrayNode();
-        final ArrayNode employeesArray = mapper.createArrayNode();
-        final Map<String, Double> spentByUser = new HashMap<>();
+        final ArrayNode managersArray = JsonOutput.arrayNode();
+        final ArrayNode employeesArray = JsonOutput.arrayNode();
         final Map<String, Double> depositedByUser = new HashMap<>();
 
-        // Process spendings
-        final List<Spending> spendings
-                = spendingsRepository.getSpendingsByIban(businessAccount.getIban());
-        for (final Spending spending : spendings) {
-            if (spending.getLastTimestamp() >= startTimestamp
-                    && spending.getLastTimestamp() <= endTimestamp) {
-                final double convertedAmount = exchangeService.convert(
-                        spending.getTotalAmount(), spending.getCurrency(),
-                        businessAccount.getCurrency()
-                );
-                final String email = spending.getEmail();
-                spentByUser.put(email, spentByUser.getOrDefault(email, 0.0) + convertedAmount);
-            }
-        }
+        // Spendings in the window, already summed per user in the account currency
+        final Map<String, Double> spentByUser = spendingsRepository.getTotalsByEmail(
+                businessAccount.getIban(), startTimestamp, endTimestamp);
 
         // Process transactions.
-        final List<Transaction> transactions =
-                transactionRepository.getTransactionsByAccount(businessAccount.getIban());
-        for (final Transaction transaction : transactions) {
-            if (transaction.getTimestamp() >= startTimestamp
-                    && transaction.getTimestamp() <= endTimestamp) {
-                final String email = transaction.getEmail();
-                if (transaction.isSpending()) {
-                    spentByUser.put(email, spentByUser.getOrDefault(email, 0.0)
-                            + transaction.getAmount());
-                } else if (transaction.isDeposit()) {
-                    depositedByUser.put(email, depositedByUser.getOrDefault(email, 0.0)
-                            + transaction.getAmount());
-                }
+        final TransactionStore store = transactionRepository.getStore();
+        transactionRepository.forEachRowByAccount(businessAccount.getIban(),
+                startTimestamp, endTimestamp, row -> {
+            final String email = store.getEmail(row);
+            if (store.isSpending(row)) {
+                spentByUser.put(email, spentByUser.getOrDefault(email, 0.0)
+                        + Money.toUnits(store.getAmount(row)));
+            } else if (store.isDeposit(row)) {
+                depositedByUser.put(email, depositedByUser.getOrDefault(email, 0.0)
+                        + Money.toUnits(store.getAmount(row)));
             }
-        }
+        });
 
         double totalSpent = 0.0;
         double totalDeposited = 0.0;
@@ -180,7 +136,7 @@ public final class BusinessReport implements Command {
             totalSpent += spent;
             totalDeposited += deposited;
 
-            final ObjectNode userNode = mapper.createObjectNode();
+            final ObjectNode userNode = JsonOutput.objectNode();
             final User user = userRepository.findUserByEmail(email);
             final String formattedName = user.getLastName() + " " + user.getFirstName();
 
@@ -204,26 +160,26 @@ public final class BusinessReport implements Command {
         result.set("output", outputData);
     }
 
-    private void generateCommerciantReport(final ObjectMapper mapper,
+    private void generateCommerciantReport(final ExecutionContext context,
                                            final ObjectNode result,
                                            final BusinessAccount businessAccount,
                                            final int startTimestamp,
                                            final int endTimestamp) {
-        final ObjectNode outputData = mapper.createObjectNode();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+
+        final ObjectNode outputData = JsonOutput.objectNode();
         outputData.put("IBAN", businessAccount.getIban());
 
         final Map<String, Double> amountsByCommerciant = new TreeMap<>();
         final Map<String, List<String>> usersByCommerciant = new HashMap<>();
 
-        final List<Transaction> transactions =
-                transactionRepository.getTransactionsByAccount(businessAccount.getIban());
-        for (final Transaction transaction : transactions) {
-            if (transaction.getTimestamp() >= startTimestamp
-                    && transaction.getTimestamp() <= endTimestamp
-                    && transaction.isSpending()) {
-                final String commerciant = transaction.getCommerciant();
-                final double amount = transaction.getAmount();
-                final String email = transaction.getEmail();
+        final TransactionStore store = transactionRepository.getStore();
+        transactionRepository.forEachRowByAccount(businessAccount.getIban(),
+                startTimestamp, endTimestamp, row -> {
+            if (store.isSpending(row)) {
+                final String commerciant = store.getCommerciant(row);
+                final double amount = Money.toUnits(store.getAmount(row));
+                final String email = store.getEmail(row);
 
                 amountsByCommerciant.put(
                         commerciant, amountsByCommerciant.getOrDefault(commerciant, 0.0) + amount
@@ -234,21 +190,21 @@ public final class BusinessReport implements Command {
                     usersByCommerciant.get(commerciant).add(email);
                 }
             }
-        }
+        });
 
-        final ArrayNode commerciantsArray = mapper.createArrayNode();
+        final ArrayNode commerciantsArray = JsonOutput.arrayNode();
         for (final Map.Entry<String, Double> entry : amountsByCommerciant.entrySet()) {
             final String commerciant = entry.getKey();
             final double totalSpent = entry.getValue();
 
-            final ObjectNode commerciantNode = mapper.createObjectNode();
+            final ObjectNode commerciantNode = JsonOutput.objectNode();
             commerciantNode.put("commerciant", commerciant);
             commerciantNode.put("total spent", totalSpent);
 
             final List<String> users = usersByCommerciant.get(commerciant);
             users.sort(String::compareTo);
 
-            final ArrayNode usersArray = mapper.createArrayNode();
+            final ArrayNode usersArray = JsonOutput.arrayNode();
             for (final String user : users) {
                 usersArray.add(user);
             }
@@ -1,60 +1,35 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Account.Account;
 import org.poo.entities.Card.Card;
 import org.poo.entities.Card.CardStatus;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionStatus;
 import org.poo.entities.TransactionType;
+import org.poo.output.JsonOutput;
 import org.poo.repository.AccountRepository;
 import org.poo.repository.CardRepository;
 import org.poo.repository.TransactionRepository;
 import org.poo.fileio.CommandInput;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.services.ExchangeService;
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.Money;
 
 /**
  * Command for handling cash withdrawals from savings accounts.
  */
 public final class CashWithdrawal implements Command {
-    private static final double STANDARD_COMMISSION_RATE = 0.002; // 0.2%
-    private static final double SILVER_THRESHOLD_RON = 500.0; // 500 RON
-    private static final double SILVER_COMMISSION_RATE = 0.001; // 0.1%
-
-    private final AccountRepository accountRepository;
-    private final CardRepository cardRepository;
-    private final TransactionRepository transactionRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    /**
-     * Constructor for CashWithdrawal command.
-     *
-     * @param accountRepository     Repository for managing accounts.
-     * @param cardRepository        Repository for managing cards.
-     * @param transactionRepository Repository for managing transactions.
-     * @param command               The command input containing withdrawal details.
-     * @param output                The JSON array node to store output messages.
-     */
-    public CashWithdrawal(final AccountRepository accountRepository,
-                          final CardRepository cardRepository,
-                          final TransactionRepository transactionRepository,
-                          final CommandInput command,
-                          final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.cardRepository = cardRepository;
-        this.transactionRepository = transactionRepository;
-        this.command = command;
-        this.output = output;
-    }
 
     /**
      * Executes the cash withdrawal command.
      */
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final CardRepository cardRepository = context.getCardRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+
         double amount = command.getAmount();
         String cardNumber = command.getCardNumber();
         String email = command.getEmail();
@@ -63,36 +38,39 @@ public final class CashWithdrawal implements Command {
 
         Card card = cardRepository.getCardByNumber(cardNumber);
         if (card == null) {
-            createErrorOutput("Card not found", timestamp);
+            createErrorOutput(context, "Card not found", timestamp);
             return;
         }
 
         Account account = accountRepository.getAccountByIban(card.getAccountIban());
         if (account == null) {
-            createErrorOutput("Account not found", timestamp);
+            createErrorOutput(context, "Account not found", timestamp);
             return;
         }
 
         if (card.getStatus().equals(CardStatus.frozen)) {
-            createErrorOutput("The card is frozen", timestamp);
+            createErrorOutput(context, "The card is frozen", timestamp);
             return;
         }
 
         double convertedAmount = amount;
-        if (!account.getCurrency().equals("RON")) {
-            ExchangeService exchangeService = ExchangeService.getInstance();
-            convertedAmount = exchangeService.convert(amount, "RON", account.getCurrency());
+        if (account.getCurrencyId() != CurrencyRegistry.RON) {
+            ExchangeService exchangeService = context.getBank().getExchangeService();
+            convertedAmount = exchangeService.convert(amount, CurrencyRegistry.RON,
+                    account.getCurrencyId(), timestamp);
         }
 
-        if (account.getBalance() < convertedAmount) {
+        long debited = Money.ofUnits(convertedAmount, Money.LEDGER_ROUNDING);
+        if (account.getBalanceMinorUnits() < debited) {
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     email,
                     account.getIban(),
                     account.getIban(),
                     0.0,
                     account.getCurrency(),
                     timestamp,
-                    "Insufficient funds",
+                    TransactionDescription.INSUFFICIENT_FUNDS,
                     TransactionType.CASHWITHDRAWAL,
                     cardNumber,
                     location,
@@ -103,52 +81,42 @@ public final class CashWithdrawal implements Command {
         }
 
         // Deduct the amount from the account balance
-        account.setBalance(account.getBalance() - convertedAmount);
+        account.debit(debited);
 
         // Calculate commission
-        ExchangeService exchangeService = ExchangeService.getInstance();
-        double commission = 0.0;
-        double amountInRon = exchangeService.convert(convertedAmount, account.getCurrency(), "RON");
-
-        if (account.getOwner().getPlan().equals("standard")) {
-            commission = STANDARD_COMMISSION_RATE * convertedAmount;
-        } else if (account.getOwner().getPlan().equals("silver")
-                && amountInRon >= SILVER_THRESHOLD_RON) {
-            commission = SILVER_COMMISSION_RATE * convertedAmount;
-        }
+        ExchangeService exchangeService = context.getBank().getExchangeService();
+        double amountInRon = exchangeService.convert(convertedAmount, account.getCurrencyId(),
+                CurrencyRegistry.RON, timestamp);
+        long commission = Money.commission(debited, account.getOwner().getPlan(), amountInRon);
 
-        account.setBalance(account.getBalance() - commission);
+        account.debit(commission);
         Transaction transaction = new Transaction(
+                transactionRepository.getStore(),
                 email,
                 account.getIban(),
                 account.getIban(),
                 amount,
                 command.getCurrency(),
                 timestamp,
-                "Cash withdrawal of " + amount,
+                TransactionDescription.CASH_WITHDRAWAL,
                 TransactionType.CASHWITHDRAWAL,
                 cardNumber,
                 location,
                 TransactionStatus.successful
         );
+        transaction.setDescriptionArgument(amount);
         transactionRepository.recordTransaction(transaction);
     }
 
     /**
      * Creates an error message in the output JSON.
      *
+     * @param context the context the command runs in.
      * @param description The error description.
      * @param timestamp   The timestamp of the error.
      */
-    private void createErrorOutput(final String description, final int timestamp) {
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode out = mapper.createObjectNode();
-        out.put("command", "cashWithdrawal");
-        ObjectNode out2 = mapper.createObjectNode();
-        out2.put("description", description);
-        out.put("timestamp", timestamp);
-        out2.put("timestamp", timestamp);
-        out.set("output", out2);
-        output.add(out);
+    private void createErrorOutput(final ExecutionContext context, final String description,
+                                   final int timestamp) {
+        context.getOutput().add(JsonOutput.errorOutput("cashWithdrawal", description, timestamp));
     }
 }
@@ -1,40 +1,23 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Account.BusinessAccount;
 import org.poo.fileio.CommandInput;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
 import org.poo.repository.AccountRepository;
 
 /**
  * Command to change the spending limit for a business account.
  */
 public final class ChangeSpendingLimit implements Command {
-    private final AccountRepository accountRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    /**
-     * Constructor for ChangeSpendingLimit.
-     *
-     * @param accountRepository Repository for managing accounts.
-     * @param command           Command input containing account and limit details.
-     * @param output            JSON array node to store the output messages.
-     */
-    public ChangeSpendingLimit(final AccountRepository accountRepository,
-                               final CommandInput command,
-                               final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.command = command;
-        this.output = output;
-    }
-
     /**
      * Executes the command to change the spending limit.
      */
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final OutputSink output = context.getOutput();
+
         final String accountIban = command.getAccount();
         final String userEmail = command.getEmail();
         final double newLimit = command.getAmount();
@@ -52,15 +35,9 @@ public final class ChangeSpendingLimit implements Command {
 
         // Check if the requesting user is the owner of the account
         if (!businessAccount.getOwnerEmail().equalsIgnoreCase(userEmail)) {
-            final ObjectMapper mapper = new ObjectMapper();
-            final ObjectNode out = mapper.createObjectNode();
-            out.put("command", "changeSpendingLimit");
-            final ObjectNode out2 = mapper.createObjectNode();
-            out2.put("description", "You must be owner in order to change spending limit.");
-            out.put("timestamp", command.getTimestamp());
-            out2.put("timestamp", command.getTimestamp());
-            out.set("output", out2);
-            output.add(out);
+            output.add(JsonOutput.errorOutput("changeSpendingLimit",
+                    "You must be owner in order to change spending limit.",
+                    command.getTimestamp()));
             return;
         }
 
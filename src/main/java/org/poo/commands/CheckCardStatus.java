@@ -1,53 +1,31 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Account.Account;
 import org.poo.entities.Card.Card;
 import org.poo.entities.Card.CardStatus;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionType;
 import org.poo.fileio.CommandInput;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
 import org.poo.repository.AccountRepository;
 import org.poo.repository.CardRepository;
 import org.poo.repository.TransactionRepository;
 
 public final class CheckCardStatus implements Command {
-    private final AccountRepository accountRepository;
-    private final CardRepository cardRepository;
-    private final TransactionRepository transactionRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    public CheckCardStatus(final AccountRepository accountRepository,
-                           final CardRepository cardRepository,
-                           final TransactionRepository transactionRepository,
-                           final CommandInput command,
-                           final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.cardRepository = cardRepository;
-        this.transactionRepository = transactionRepository;
-        this.command = command;
-        this.output = output;
-    }
-
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final CardRepository cardRepository = context.getCardRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final OutputSink output = context.getOutput();
+
         String number = command.getCardNumber();
         Card card = cardRepository.getCardByNumber(number);
         if (card == null) {
-            ObjectMapper mapper = new ObjectMapper();
-            ObjectNode out = mapper.createObjectNode();
-            out.put("command", "checkCardStatus");
-
-            ObjectNode out2 = mapper.createObjectNode();
-            out2.put("description", "Card not found");
-            out.put("timestamp", command.getTimestamp());
-            out2.put("timestamp", command.getTimestamp());
-
-            out.set("output", out2);
-            output.add(out);
+            output.add(JsonOutput.errorOutput("checkCardStatus", "Card not found",
+                    command.getTimestamp()));
             return;
         }
 
@@ -58,13 +36,14 @@ public final class CheckCardStatus implements Command {
         // Verify account balance
         if (account.getBalance() == 0) {
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     email,
                     account.getIban(),
                     account.getIban(),
                     0.0,
                     account.getCurrency(),
                     command.getTimestamp(),
-                    "You have reached the minimum amount of funds, the card will be frozen",
+                    TransactionDescription.MINIMUM_FUNDS_REACHED,
                     TransactionType.CHECK_CARD_STATUS,
                     number,
                     null,
@@ -88,13 +67,14 @@ public final class CheckCardStatus implements Command {
             card.setStatus(CardStatus.frozen);
 
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     email,
                     account.getIban(),
                     account.getIban(),
                     0.0,
                     account.getCurrency(),
                     command.getTimestamp(),
-                    "You have reached the minimum amount of funds, the card will be frozen",
+                    TransactionDescription.MINIMUM_FUNDS_REACHED,
                     TransactionType.CHECK_CARD_STATUS,
                     number,
                     null,
@@ -103,23 +83,6 @@ public final class CheckCardStatus implements Command {
             transactionRepository.recordTransaction(transaction);
         }
 
-        if (card.getStatus().equals(CardStatus.frozen)) {
-            // Set the status to frozen
-            Transaction transaction = new Transaction(
-                    email,
-                    account.getIban(),
-                    account.getIban(),
-                    0.0,
-                    account.getCurrency(),
-                    command.getTimestamp(),
-                    "The card is frozen",
-                    TransactionType.CHECK_CARD_STATUS,
-                    number,
-                    null,
-                    null
-            );
-        }
-
     }
 }
 
@@ -1,12 +1,19 @@
 package org.poo.commands;
 
+import org.poo.fileio.CommandInput;
+
 /**
- * Represents a command that can be executed.
+ * Handles one kind of command. Handlers keep no state of their own:
+ * everything a run needs comes in through its {@link ExecutionContext},
+ * so a single instance of each serves every command of every run.
  */
 public interface Command {
 
     /**
      * Executes the command.
+     *
+     * @param command the command input.
+     * @param context the context the command runs in.
      */
-    void execute();
+    void execute(CommandInput command, ExecutionContext context);
 }
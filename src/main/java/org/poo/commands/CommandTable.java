@@ -0,0 +1,126 @@
+package org.poo.commands;
+
+import org.poo.fileio.CommandInput;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dispatch table of the command handlers. The executor resolves each command
+ * name to a slot in the table once, as the command is read, so running a
+ * command is an array lookup: no string matching and no allocation per command.
+ */
+public final class CommandTable {
+    /**
+     * Id of a command name that has no handler.
+     */
+    public static final int UNKNOWN = -1;
+
+    private static final String[] NAMES = {
+        "addAccount",
+        "addFunds",
+        "addInterest",
+        "changeInterestRate",
+        "checkCardStatus",
+        "createCard",
+        "createOneTimeCard",
+        "deleteAccount",
+        "deleteCard",
+        "payOnline",
+        "printTransactions",
+        "printUsers",
+        "report",
+        "sendMoney",
+        "setAlias",
+        "setMinimumBalance",
+        "spendingsReport",
+        "splitPayment",
+        "withdrawSavings",
+        "upgradePlan",
+        "cashWithdrawal",
+        "acceptSplitPayment",
+        "addNewBusinessAssociate",
+        "changeSpendingLimit",
+        "businessReport",
+        "changeDepositLimit",
+        "rejectSplitPayment",
+    };
+
+    // Same order as NAMES
+    private static final Command[] HANDLERS = {
+        new AddAccount(),
+        new AddFunds(),
+        new AddInterest(),
+        new ChangeInterestRate(),
+        new CheckCardStatus(),
+        new CreateCard(),
+        new CreateOneTimeCard(),
+        new DeleteAccount(),
+        new DeleteCard(),
+        new PayOnline(),
+        new PrintTransactions(),
+        new PrintUsers(),
+        new Report(),
+        new SendMoney(),
+        new SetAlias(),
+        new SetMinimumBalance(),
+        new SpendingsReport(),
+        new SplitPayment(),
+        new WithdrawSavings(),
+        new UpgradePlan(),
+        new CashWithdrawal(),
+        new AcceptSplitPayment(),
+        new AddNewBusinessAssociate(),
+        new ChangeSpendingLimit(),
+        new BusinessReport(),
+        new ChangeDepositLimit(),
+        new RejectSplitPayment(),
+    };
+
+    private static final Map<String, Integer> IDS = new HashMap<>();
+
+    static {
+        for (int id = 0; id < NAMES.length; id++) {
+            IDS.put(NAMES[id], id);
+        }
+    }
+
+    /**
+     * for coding style
+     */
+    private CommandTable() {
+    }
+
+    /**
+     * Resolves a command name to its slot in the table.
+     *
+     * @param name the name of the command, or null.
+     * @return the id of the command, or {@link #UNKNOWN}.
+     */
+    public static int idOf(final String name) {
+        if (name == null) {
+            return UNKNOWN;
+        }
+        return IDS.getOrDefault(name, UNKNOWN);
+    }
+
+    /**
+     * Runs a command through the handler its input was resolved to
+     * with {@link #idOf}.
+     *
+     * @param command the command input.
+     * @param context the context the command runs in.
+     * @throws IllegalArgumentException if the command has no handler.
+     */
+    public static void dispatch(final CommandInput command, final ExecutionContext context) {
+        if (command == null || command.getCommand() == null) {
+            throw new IllegalArgumentException("Command input or command type cannot be null.");
+        }
+
+        final int id = command.getHandlerId();
+        if (id == UNKNOWN) {
+            throw new IllegalArgumentException("Unknown command: " + command.getCommand());
+        }
+        HANDLERS[id].execute(command, context);
+    }
+}
@@ -3,6 +3,7 @@ package org.poo.commands;
 import org.poo.entities.Account.Account;
 import org.poo.entities.Card.StandardCard;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionType;
 import org.poo.fileio.CommandInput;
 import org.poo.repository.AccountRepository;
@@ -13,26 +14,15 @@ import org.poo.repository.TransactionRepository;
  * Command to create a new classic card for a specific account.
  */
 public final class CreateCard implements Command {
-    private final AccountRepository accountRepository;
-    private final CardRepository cardRepository;
-    private final TransactionRepository transactionRepository;
-    private final CommandInput command;
-
-    public CreateCard(final AccountRepository accountRepository,
-                      final CardRepository cardRepository,
-                      final TransactionRepository transactionRepository,
-                      final CommandInput command) {
-        this.accountRepository = accountRepository;
-        this.cardRepository = cardRepository;
-        this.transactionRepository = transactionRepository;
-        this.command = command;
-    }
-
     /**
      * Executes the logic to create a new card.
      */
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final CardRepository cardRepository = context.getCardRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+
         String accountIban = command.getAccount();
         String email = command.getEmail();
 
@@ -43,18 +33,21 @@ public final class CreateCard implements Command {
         }
 
         // Create the new card
-        StandardCard newCard = new StandardCard(accountIban, email);
+        StandardCard newCard = new StandardCard(
+                context.getBank().getNumbers().generateCardNumber(), accountIban, email,
+                context.getBank().getStrings());
 
         cardRepository.saveCard(newCard);
 
         Transaction transaction = new Transaction(
+                transactionRepository.getStore(),
                 command.getEmail(),
                 accountIban,
                 accountIban,
                 0.0,
                 account.getCurrency(),
                 command.getTimestamp(),
-                "New card created",
+                TransactionDescription.NEW_CARD_CREATED,
                 TransactionType.CREATE_CARD,
                 newCard.getCardNumber(),
                 null,
@@ -3,6 +3,7 @@ package org.poo.commands;
 import org.poo.entities.Account.Account;
 import org.poo.entities.Card.OneTimeCard;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionType;
 import org.poo.fileio.CommandInput;
 import org.poo.repository.AccountRepository;
@@ -13,42 +14,34 @@ import org.poo.repository.TransactionRepository;
  * Command to create a new one-time card for a specific account.
  */
 public final class CreateOneTimeCard implements Command {
-    private final AccountRepository accountRepository;
-    private final CardRepository cardRepository;
-    private final TransactionRepository transactionRepository;
-    private final CommandInput command;
-
-    public CreateOneTimeCard(final AccountRepository accountRepository,
-                             final CardRepository cardRepository,
-                             final TransactionRepository transactionRepository,
-                             final CommandInput command) {
-        this.accountRepository = accountRepository;
-        this.cardRepository = cardRepository;
-        this.transactionRepository = transactionRepository;
-        this.command = command;
-    }
-
     /**
      * Executes the logic to create a one-time card.
      */
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final CardRepository cardRepository = context.getCardRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+
         String accountIban = command.getAccount();
         String email = command.getEmail();
         Account account = accountRepository.getAccountByIban(accountIban);
 
         // Create one time card
-        OneTimeCard newCard = new OneTimeCard(accountIban, email);
+        OneTimeCard newCard = new OneTimeCard(
+                context.getBank().getNumbers().generateCardNumber(), accountIban, email,
+                context.getBank().getStrings());
         cardRepository.saveCard(newCard);
 
         Transaction transaction = new Transaction(
+                transactionRepository.getStore(),
                 email,
                 accountIban,
                 accountIban,
                 0.0,
                 account.getCurrency(),
                 command.getTimestamp(),
-                "New card created",
+                TransactionDescription.NEW_CARD_CREATED,
                 TransactionType.CREATE_CARD,
                 newCard.getCardNumber(),
                 null,
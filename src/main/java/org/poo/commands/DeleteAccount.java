@@ -1,13 +1,13 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Account.Account;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionType;
 import org.poo.entities.User;
 import org.poo.fileio.CommandInput;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
 import org.poo.repository.AccountRepository;
 import org.poo.repository.TransactionRepository;
 import org.poo.repository.UserRepository;
@@ -17,29 +17,17 @@ import org.poo.repository.UserRepository;
  */
 public final class DeleteAccount implements Command {
     private static final double ACCOUNT_DELETION_THRESHOLD = 30.0;
-    private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    public DeleteAccount(final AccountRepository accountRepository,
-                         final TransactionRepository transactionRepository,
-                         final UserRepository userRepository,
-                         final CommandInput command,
-                         final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
-        this.userRepository = userRepository;
-        this.command = command;
-        this.output = output;
-    }
 
     /**
      * Executes the logic to delete an account.
      */
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final UserRepository userRepository = context.getUserRepository();
+        final OutputSink output = context.getOutput();
+
         Account account = accountRepository.findAccountByIban(command.getAccount());
         if (account == null) {
             throw new IllegalArgumentException(
@@ -48,27 +36,19 @@ public final class DeleteAccount implements Command {
         }
 
         if (account.getBalance() - account.getMinimumBalance() > ACCOUNT_DELETION_THRESHOLD) {
-            ObjectMapper mapper = new ObjectMapper();
-            ObjectNode outputNode = mapper.createObjectNode();
-            outputNode.put("command", "deleteAccount");
-            outputNode.put("timestamp", command.getTimestamp());
-
-            ObjectNode errorNode = outputNode.putObject("output");
-            errorNode.put("error",
-                    "Account couldn't be deleted - see org.poo.transactions for details"
-            );
-
-            errorNode.put("timestamp", command.getTimestamp());
-            output.add(outputNode);
+            output.add(JsonOutput.message("deleteAccount", "error",
+                    "Account couldn't be deleted - see org.poo.transactions for details",
+                    command.getTimestamp()));
 
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     account.getOwner().getEmail(),
                     account.getIban(),
                     null,
                     0.0,
                     account.getCurrency(),
                     command.getTimestamp(),
-                    "Account couldn't be deleted - there are funds remaining",
+                    TransactionDescription.FUNDS_REMAINING,
                     TransactionType.DELETE_ACCOUNT,
                     null,
                     null,
@@ -89,14 +69,7 @@ public final class DeleteAccount implements Command {
         user.removeAccount(account);
         accountRepository.deleteAccount(command.getAccount());
 
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode successNode = mapper.createObjectNode();
-        successNode.put("command", "deleteAccount");
-        successNode.put("timestamp", command.getTimestamp());
-
-        ObjectNode successOutput = successNode.putObject("output");
-        successOutput.put("success", "Account deleted");
-        successOutput.put("timestamp", command.getTimestamp());
-        output.add(successNode);
+        output.add(JsonOutput.message("deleteAccount", "success", "Account deleted",
+                command.getTimestamp()));
     }
 }
@@ -1,9 +1,9 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.entities.Account.Account;
 import org.poo.entities.Card.Card;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionType;
 import org.poo.fileio.CommandInput;
 import org.poo.repository.AccountRepository;
@@ -14,29 +14,15 @@ import org.poo.repository.TransactionRepository;
  * Command to delete a card for a specific account.
  */
 public final class DeleteCard implements Command {
-    private final AccountRepository accountRepository;
-    private final CardRepository cardRepository;
-    private final TransactionRepository transactionRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    public DeleteCard(final AccountRepository accountRepository,
-                      final CardRepository cardRepository,
-                      final TransactionRepository transactionRepository,
-                      final CommandInput command,
-                      final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.cardRepository = cardRepository;
-        this.transactionRepository = transactionRepository;
-        this.command = command;
-        this.output = output;
-    }
-
     /**
      * Executes the logic to delete a card.
      */
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final CardRepository cardRepository = context.getCardRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+
         String number = command.getCardNumber();
         Card card = cardRepository.getCardByNumber(number);
 
@@ -51,13 +37,14 @@ public final class DeleteCard implements Command {
         Account account = accountRepository.getAccountByIban(accountIban);
 
         Transaction transaction = new Transaction(
+                transactionRepository.getStore(),
                 command.getEmail(),
                 accountIban,
                 accountIban,
                 0.0,
                 account.getCurrency(),
                 command.getTimestamp(),
-                "The card has been destroyed",
+                TransactionDescription.CARD_DESTROYED,
                 TransactionType.DELETE_CARD,
                 number,
                 null,
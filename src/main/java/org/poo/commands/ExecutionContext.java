@@ -0,0 +1,131 @@
+package org.poo.commands;
+
+import org.poo.output.OutputSink;
+import org.poo.repository.AccountRepository;
+import org.poo.repository.AliasRepository;
+import org.poo.repository.CardRepository;
+import org.poo.repository.CommerciantsRepository;
+import org.poo.repository.SpendingsRepository;
+import org.poo.repository.SplitsRepository;
+import org.poo.repository.TransactionRepository;
+import org.poo.repository.UserRepository;
+import org.poo.services.AccountResolver;
+import org.poo.services.AccountService;
+import org.poo.services.AliasService;
+import org.poo.services.BankContext;
+import org.poo.services.CardService;
+import org.poo.services.CommerciantsService;
+import org.poo.services.TransactionService;
+import org.poo.services.UserService;
+
+/**
+ * Everything a command needs to run: the bank it works on, the services
+ * built on its repositories and the sink the results are written to.
+ * Commands are stateless and shared, so all the state of a run lives here.
+ */
+public final class ExecutionContext {
+    private final BankContext bank;
+    private final AccountResolver accountResolver;
+
+    private final UserService userService;
+    private final AccountService accountService;
+    private final CardService cardService;
+    private final AliasService aliasService;
+    private final TransactionService transactionService;
+    private final CommerciantsService commerciantsService;
+
+    private final OutputSink output;
+
+    /**
+     * Builds the context of a run and the services on the repositories of its bank.
+     *
+     * @param bank   The bank the commands work on.
+     * @param output Where command results are written.
+     */
+    public ExecutionContext(final BankContext bank, final OutputSink output) {
+        this.bank = bank;
+        this.accountResolver = new AccountResolver(bank.getAccountRepository(),
+                bank.getAliasRepository());
+        this.output = output;
+
+        this.userService = new UserService(bank.getUserRepository(), bank.getStrings());
+        this.accountService = new AccountService(bank.getAccountRepository(),
+                bank.getTransactionRepository(), bank.getUserRepository(),
+                bank.getCardRepository(), bank.getAliasRepository());
+        this.cardService = new CardService(bank.getAccountRepository(),
+                bank.getCardRepository(), bank.getUserRepository(),
+                bank.getTransactionRepository(), bank.getSpendingsRepository());
+        this.aliasService = new AliasService(bank.getAliasRepository(), bank.getStrings());
+        this.transactionService = new TransactionService(bank.getTransactionRepository());
+        this.commerciantsService = new CommerciantsService(bank.getCommerciantsRepository(),
+                bank.getStrings());
+    }
+
+    public BankContext getBank() {
+        return bank;
+    }
+
+    public AccountRepository getAccountRepository() {
+        return bank.getAccountRepository();
+    }
+
+    public TransactionRepository getTransactionRepository() {
+        return bank.getTransactionRepository();
+    }
+
+    public CardRepository getCardRepository() {
+        return bank.getCardRepository();
+    }
+
+    public AliasRepository getAliasRepository() {
+        return bank.getAliasRepository();
+    }
+
+    public UserRepository getUserRepository() {
+        return bank.getUserRepository();
+    }
+
+    public SpendingsRepository getSpendingsRepository() {
+        return bank.getSpendingsRepository();
+    }
+
+    public CommerciantsRepository getCommerciantsRepository() {
+        return bank.getCommerciantsRepository();
+    }
+
+    public SplitsRepository getSplitsRepository() {
+        return bank.getSplitsRepository();
+    }
+
+    public AccountResolver getAccountResolver() {
+        return accountResolver;
+    }
+
+    public UserService getUserService() {
+        return userService;
+    }
+
+    public AccountService getAccountService() {
+        return accountService;
+    }
+
+    public CardService getCardService() {
+        return cardService;
+    }
+
+    public AliasService getAliasService() {
+        return aliasService;
+    }
+
+    public TransactionService getTransactionService() {
+        return transactionService;
+    }
+
+    public CommerciantsService getCommerciantsService() {
+        return commerciantsService;
+    }
+
+    public OutputSink getOutput() {
+        return output;
+    }
+}
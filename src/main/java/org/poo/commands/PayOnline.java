@@ -1,10 +1,8 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.User;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionType;
 import org.poo.entities.TransactionStatus;
 import org.poo.entities.Account.Account;
@@ -14,60 +12,36 @@ import org.poo.entities.Card.Card;
 import org.poo.entities.spendings.Spending;
 import org.poo.entities.Commerciants.Commerciant;
 import org.poo.fileio.CommandInput;
+import org.poo.output.JsonOutput;
 import org.poo.repository.AccountRepository;
 import org.poo.repository.CardRepository;
 import org.poo.repository.TransactionRepository;
 import org.poo.repository.SpendingsRepository;
-import org.poo.repository.UserRepository;
 import org.poo.services.cashback.CashbackCalculator;
 import org.poo.services.CommerciantsService;
 import org.poo.services.ExchangeService;
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.Money;
 
 /**
  * Command for processing online payments with cards and applying cashback.
  */
 public final class PayOnline implements Command {
-    private static final double STANDARD_COMMISSION_PERCENT = 0.2;
-    private static final double SILVER_COMMISSION_PERCENT = 0.1;
-    private static final double COMMISSION_DIVISOR = 100.0;
-    private static final double CASHBACK_THRESHOLD = 500.0;
-
-    private final CommerciantsService commerciantsService;
-    private final AccountRepository accountRepository;
-    private final CardRepository cardRepository;
-    private final TransactionRepository transactionRepository;
-    private final SpendingsRepository spendingsRepository;
-    private final UserRepository userRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    public PayOnline(final AccountRepository accountRepository,
-                     final CardRepository cardRepository,
-                     final TransactionRepository transactionRepository,
-                     final SpendingsRepository spendingsRepository,
-                     final CommerciantsService commerciantsService,
-                     final UserRepository userRepository,
-                     final CommandInput command,
-                     final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.cardRepository = cardRepository;
-        this.userRepository = userRepository;
-        this.transactionRepository = transactionRepository;
-        this.spendingsRepository = spendingsRepository;
-
-        this.commerciantsService = commerciantsService;
-        this.command = command;
-        this.output = output;
-    }
 
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final CommerciantsService commerciantsService = context.getCommerciantsService();
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final CardRepository cardRepository = context.getCardRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final SpendingsRepository spendingsRepository = context.getSpendingsRepository();
+
         String number = command.getCardNumber();
         double amount = command.getAmount();
 
         Card card = cardRepository.getCardByNumber(number);
         if (card == null) {
-            createErrorOutput("Card not found", command.getTimestamp());
+            createErrorOutput(context, "Card not found", command.getTimestamp());
             return;
         }
 
@@ -77,52 +51,48 @@ public final class PayOnline implements Command {
         }
 
         if (card.getStatus().equals(CardStatus.frozen)) {
-            createErrorOutput("The card is frozen", command.getTimestamp());
+            createErrorOutput(context, "The card is frozen", command.getTimestamp());
             return;
         }
 
+        int paymentCurrencyId = context.getBank().getCurrencies().idOf(command.getCurrency());
         double convertedAmount = amount;
-        if (!account.getCurrency().equals(command.getCurrency())) {
-            ExchangeService exchangeService = ExchangeService.getInstance();
-            convertedAmount = exchangeService.convert(amount, command.getCurrency(),
-                    account.getCurrency());
+        if (account.getCurrencyId() != paymentCurrencyId) {
+            ExchangeService exchangeService = context.getBank().getExchangeService();
+            convertedAmount = exchangeService.convert(amount, paymentCurrencyId,
+                    account.getCurrencyId(), command.getTimestamp());
         }
 
-        if (account.getBalance() - account.getBlockAmount() < convertedAmount) {
+        long debited = Money.ofUnits(convertedAmount, Money.LEDGER_ROUNDING);
+        if (account.getAvailableMinorUnits() < debited) {
             return;
         }
 
-        if (convertedAmount == 0) {
+        if (debited == 0) {
             return;
         }
 
-        account.setBalance(account.getBalance() - convertedAmount);
+        account.debit(debited);
 
-        User user = userRepository.findUserByEmail(account.getOwner().getEmail());
+        User user = account.getOwner();
         user.setTotalSpent(user.getTotalSpent() + convertedAmount);
 
-        ExchangeService exchangeService = ExchangeService.getInstance();
-        double commission = 0.0;
-        double suminron = exchangeService.convert(convertedAmount, account.getCurrency(), "RON");
-
-        if (account.getOwner().getPlan().equals("standard")) {
-            commission = (STANDARD_COMMISSION_PERCENT / COMMISSION_DIVISOR) * convertedAmount;
-        } else if (account.getOwner().getPlan().equals("silver")) {
-            if (suminron >= CASHBACK_THRESHOLD) {
-                commission = (SILVER_COMMISSION_PERCENT / COMMISSION_DIVISOR) * convertedAmount;
-            }
-        }
+        ExchangeService exchangeService = context.getBank().getExchangeService();
+        double suminron = exchangeService.convert(convertedAmount, account.getCurrencyId(),
+                CurrencyRegistry.RON, command.getTimestamp());
+        long commission = Money.commission(debited, account.getOwner().getPlan(), suminron);
 
-        account.setBalance(account.getBalance() - commission);
+        account.debit(commission);
 
         Transaction transaction = new Transaction(
+                transactionRepository.getStore(),
                 command.getEmail(),
                 account.getIban(),
                 account.getIban(),
                 convertedAmount,
                 command.getCurrency(),
                 command.getTimestamp(),
-                "Card payment",
+                TransactionDescription.CARD_PAYMENT,
                 TransactionType.PAY_ONLINE,
                 number,
                 command.getCommerciant(),
@@ -137,19 +107,23 @@ public final class PayOnline implements Command {
                 amount,
                 command.getTimestamp(),
                 account.getIban(),
-                command.getCurrency()
+                command.getCurrency(),
+                convertedAmount,
+                context.getBank().getStrings(),
+                context.getBank().getCurrencies()
         );
         spendingsRepository.recordSpending(spending);
 
         CashbackCalculator cashbackCalculator = new CashbackCalculator(
                 commerciantsService,
-                ExchangeService.getInstance(),
+                context.getBank().getExchangeService(),
                 accountRepository
         );
 
-        Commerciant commerciant = getCommerciantFromInput(command.getCommerciant());
+        Commerciant commerciant = getCommerciantFromInput(context, command.getCommerciant());
         if (commerciant == null) {
-            createErrorOutput("Commerciant not found in repository", command.getTimestamp());
+            createErrorOutput(context, "Commerciant not found in repository",
+                    command.getTimestamp());
             return;
         }
 
@@ -168,13 +142,14 @@ public final class PayOnline implements Command {
 
         if (card.getCardType().equals(CardType.ONE_TIME)) {
             Transaction transaction1 = new Transaction(
+                    transactionRepository.getStore(),
                     account.getEmail(),
                     account.getIban(),
                     account.getIban(),
                     0,
                     account.getCurrency(),
                     command.getTimestamp(),
-                    "The card has been destroyed",
+                    TransactionDescription.CARD_DESTROYED,
                     TransactionType.DELETE_CARD,
                     card.getCardNumber(),
                     null,
@@ -182,16 +157,17 @@ public final class PayOnline implements Command {
             );
             transactionRepository.recordTransaction(transaction1);
 
-            card.setCardNumber(card);
+            cardRepository.regenerateCardNumber(card, context.getBank().getNumbers());
 
             Transaction transaction2 = new Transaction(
+                    transactionRepository.getStore(),
                     account.getEmail(),
                     account.getIban(),
                     account.getIban(),
                     0,
                     account.getCurrency(),
                     command.getTimestamp(),
-                    "New card created",
+                    TransactionDescription.NEW_CARD_CREATED,
                     TransactionType.CREATE_CARD,
                     card.getCardNumber(),
                     null,
@@ -201,19 +177,15 @@ public final class PayOnline implements Command {
         }
     }
 
-    private Commerciant getCommerciantFromInput(final String commerciantName) {
+    private Commerciant getCommerciantFromInput(final ExecutionContext context,
+                                                final String commerciantName) {
+        final CommerciantsService commerciantsService = context.getCommerciantsService();
+
         return commerciantsService.getCommerciantByName(commerciantName);
     }
 
-    private void createErrorOutput(final String description, final int timestamp) {
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode out = mapper.createObjectNode();
-        out.put("command", "payOnline");
-        ObjectNode out2 = mapper.createObjectNode();
-        out2.put("description", description);
-        out.put("timestamp", timestamp);
-        out2.put("timestamp", timestamp);
-        out.set("output", out2);
-        output.add(out);
+    private void createErrorOutput(final ExecutionContext context, final String description,
+                                   final int timestamp) {
+        context.getOutput().add(JsonOutput.errorOutput("payOnline", description, timestamp));
     }
 }
@@ -1,17 +1,15 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import org.poo.entities.Transaction;
 import org.poo.entities.TransactionStatus;
 import org.poo.entities.TransactionType;
 import org.poo.fileio.CommandInput;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
 import org.poo.repository.TransactionRepository;
-import org.poo.repository.UserRepository;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.poo.repository.TransactionStore;
+import org.poo.utils.Money;
 
 import static org.poo.entities.TransactionType.INSUFFICIENT_FUNDS_FOR_SPLIT_CUSTOM;
 
@@ -19,96 +17,69 @@ import static org.poo.entities.TransactionType.INSUFFICIENT_FUNDS_FOR_SPLIT_CUST
  * Command for printing transactions of a user.
  */
 public final class PrintTransactions implements Command {
-    private final TransactionRepository transactionRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-    private final UserRepository userRepository;
-
-    public PrintTransactions(final TransactionRepository transactionRepository,
-                             final CommandInput command,
-                             final ArrayNode output,
-                             final UserRepository userRepository) {
-        this.transactionRepository = transactionRepository;
-        this.command = command;
-        this.output = output;
-        this.userRepository = userRepository;
-    }
-
     @Override
-    public void execute() {
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode transactionNode = mapper.createObjectNode();
-        transactionNode.put("command", "printTransactions");
-        transactionNode.put("timestamp", command.getTimestamp());
-        ArrayNode transactionsArray = transactionNode.putArray("output");
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final OutputSink output = context.getOutput();
 
-        List<Transaction> transactions = transactionRepository.getAllTransactions();
-        List<Transaction> userTransactions = new ArrayList<>();
-
-        for (Transaction transaction : transactions) {
-            if (transaction.getEmail().equals(command.getEmail())) {
-                userTransactions.add(transaction);
-            }
-        }
+        ObjectNode transactionNode = JsonOutput.result("printTransactions", command.getTimestamp());
+        ArrayNode transactionsArray = transactionNode.putArray("output");
 
-        for (int i = 0; i < userTransactions.size() - 1; i++) {
-            for (int j = 0; j < userTransactions.size() - i - 1; j++) {
-                if (userTransactions.get(j).getTimestamp()
-                        > userTransactions.get(j + 1).getTimestamp()) {
-                    Transaction temp = userTransactions.get(j);
-                    userTransactions.set(j, userTransactions.get(j + 1));
-                    userTransactions.set(j + 1, temp);
-                }
-            }
-        }
+        // Already in timestamp order, equal timestamps keep their insertion order
+        final TransactionStore store = transactionRepository.getStore();
+        transactionRepository.forEachRowByEmail(command.getEmail(), row -> {
+            final TransactionType type = store.getType(row);
 
-        for (final Transaction transaction : userTransactions) {
             // If not all accepted the split payment, don't show the transaction
-            if ((transaction.getType().equals(TransactionType.SPLIT_CUSTOM)
-                    || transaction.getType().equals(TransactionType.SPLIT))
-                    && transaction.getStatus().equals(TransactionStatus.PENDING)) {
-                continue;
+            if ((type.equals(TransactionType.SPLIT_CUSTOM)
+                    || type.equals(TransactionType.SPLIT))
+                    && store.getStatus(row).equals(TransactionStatus.PENDING)) {
+                return;
             }
 
-            if ((transaction.getType().equals(TransactionType.INSUFFICIENT_FUNDS_FOR_SPLIT_CUSTOM)
-                    || transaction.getType().equals(TransactionType.INSUFFICIENT_FUNDS_FOR_SPLIT))
-                    && transaction.getStatus().equals(TransactionStatus.PENDING)) {
-                continue;
+            if ((type.equals(TransactionType.INSUFFICIENT_FUNDS_FOR_SPLIT_CUSTOM)
+                    || type.equals(TransactionType.INSUFFICIENT_FUNDS_FOR_SPLIT))
+                    && store.getStatus(row).equals(TransactionStatus.PENDING)) {
+                return;
             }
 
-            if (transaction.getType().equals(TransactionType.DEPOSIT)
-                    || transaction.getType().equals(TransactionType.SPENDING)) {
-                continue;
+            if (type.equals(TransactionType.DEPOSIT)
+                    || type.equals(TransactionType.SPENDING)) {
+                return;
             }
 
-            ObjectNode outputNode = mapper.createObjectNode();
-            formatTransaction(transaction, outputNode);
+            ObjectNode outputNode = JsonOutput.objectNode();
+            formatTransaction(store, row, outputNode);
 
             transactionsArray.add(outputNode);
-        }
+        });
 
         output.add(transactionNode);
     }
 
-
-    private void formatTransaction(final Transaction transaction,
+    private void formatTransaction(final TransactionStore store, final int row,
                                    final ObjectNode outputNode) {
-        if (!transaction.getType().equals(TransactionType.SPLIT_CUSTOM)
-                && !transaction.getType().equals(TransactionType.SPLIT)
-                && !transaction.getType().equals(INSUFFICIENT_FUNDS_FOR_SPLIT_CUSTOM)
-                && !transaction.getType().equals(TransactionType.INSUFFICIENT_FUNDS_FOR_SPLIT)
-                && !transaction.getType().equals(TransactionType.DEPOSIT)) {
-
-            outputNode.put("timestamp", transaction.getTimestamp());
-            outputNode.put("description", transaction.getDescription());
+        final TransactionType type = store.getType(row);
+        // Rendered once, however many fields quote it
+        final String description = store.getDescription(row);
+        final double amount = Money.toUnits(store.getAmount(row));
+
+        if (!type.equals(TransactionType.SPLIT_CUSTOM)
+                && !type.equals(TransactionType.SPLIT)
+                && !type.equals(INSUFFICIENT_FUNDS_FOR_SPLIT_CUSTOM)
+                && !type.equals(TransactionType.INSUFFICIENT_FUNDS_FOR_SPLIT)
+                && !type.equals(TransactionType.DEPOSIT)) {
+
+            outputNode.put("timestamp", store.getTimestamp(row));
+            outputNode.put("description", description);
         }
 
-        switch (transaction.getType()) {
+        switch (type) {
             case SEND_MONEY:
-                outputNode.put("senderIBAN", transaction.getFromAccount());
-                outputNode.put("receiverIBAN", transaction.getToAccount());
-                outputNode.put("amount", transaction.getAmount() + " " + transaction.getCurrency());
-                if (transaction.getStatus().equals(TransactionStatus.sent)) {
+                outputNode.put("senderIBAN", store.getFromAccount(row));
+                outputNode.put("receiverIBAN", store.getToAccount(row));
+                outputNode.put("amount", amount + " " + store.getCurrency(row));
+                if (store.getStatus(row).equals(TransactionStatus.sent)) {
                     outputNode.put("transferType", "sent");
                 } else {
                     outputNode.put("transferType", "received");
@@ -116,46 +87,46 @@ public final class PrintTransactions implements Command {
                 break;
 
             case ADD_FUNDS:
-                outputNode.put("account", transaction.getFromAccount());
-                outputNode.put("amount", transaction.getAmount()
-                        + " " + transaction.getCurrency());
+                outputNode.put("account", store.getFromAccount(row));
+                outputNode.put("amount", amount
+                        + " " + store.getCurrency(row));
                 break;
 
             case CREATE_CARD:
-                outputNode.put("account", transaction.getFromAccount());
-                outputNode.put("cardHolder", transaction.getEmail());
-                outputNode.put("card", transaction.getCardNumber());
+                outputNode.put("account", store.getFromAccount(row));
+                outputNode.put("cardHolder", store.getEmail(row));
+                outputNode.put("card", store.getCardNumber(row));
                 break;
 
             case PAY_ONLINE:
-                outputNode.put("amount", transaction.getAmount());
-                outputNode.put("commerciant", transaction.getCommerciant());
+                outputNode.put("amount", amount);
+                outputNode.put("commerciant", store.getCommerciant(row));
                 break;
 
             case DELETE_ACCOUNT:
-                outputNode.put("description", transaction.getDescription());
-                outputNode.put("timestamp", transaction.getTimestamp());
+                outputNode.put("description", description);
+                outputNode.put("timestamp", store.getTimestamp(row));
                 break;
 
             case DELETE_CARD:
-                outputNode.put("account", transaction.getFromAccount());
-                outputNode.put("card", transaction.getCardNumber());
-                outputNode.put("cardHolder", transaction.getEmail());
+                outputNode.put("account", store.getFromAccount(row));
+                outputNode.put("card", store.getCardNumber(row));
+                outputNode.put("cardHolder", store.getEmail(row));
                 break;
 
             case INSUFFICIENT_FUNDS:
                 break;
             case INSUFFICIENT_FUNDS_FOR_SPLIT:
-                if (transaction.getStatus().equals(TransactionStatus.successful)) {
+                if (store.getStatus(row).equals(TransactionStatus.successful)) {
 
-                    outputNode.put("amount", transaction.getAmount());
-                    outputNode.put("currency", transaction.getCurrency());
-                    outputNode.put("description", transaction.getDescription());
-                    outputNode.put("error", transaction.getError());
-                    outputNode.put("timestamp", transaction.getTimestamp());
+                    outputNode.put("amount", amount);
+                    outputNode.put("currency", store.getCurrency(row));
+                    outputNode.put("description", description);
+                    outputNode.put("error", store.getError(row));
+                    outputNode.put("timestamp", store.getTimestamp(row));
                     outputNode.put("splitPaymentType", "equal");
                     ArrayNode involvedAccountsArray1 = outputNode.putArray("involvedAccounts");
-                    for (final String account : transaction.getInvolvedAccounts()) {
+                    for (final String account : store.getInvolvedAccounts(row)) {
                         involvedAccountsArray1.add(account);
                     }
                 }
@@ -171,68 +142,68 @@ public final class PrintTransactions implements Command {
                 break;
 
             case SPLIT:
-                if (transaction.getStatus().equals(TransactionStatus.successful)) {
+                if (store.getStatus(row).equals(TransactionStatus.successful)) {
 
-                    outputNode.put("currency", transaction.getCurrency());
+                    outputNode.put("currency", store.getCurrency(row));
                     outputNode.put("splitPaymentType", "equal");
-                    outputNode.put("amount", transaction.getAmount());
+                    outputNode.put("amount", amount);
                     ArrayNode involvedAccountsArray = outputNode.putArray("involvedAccounts");
-                    for (final String account : transaction.getInvolvedAccounts()) {
+                    for (final String account : store.getInvolvedAccounts(row)) {
                         involvedAccountsArray.add(account);
                     }
-                    outputNode.put("timestamp", transaction.getTimestamp());
-                    outputNode.put("description", transaction.getDescription());
-                    if (!transaction.getError().equals("nesetat")) {
-                        outputNode.put("error", transaction.getError());
+                    outputNode.put("timestamp", store.getTimestamp(row));
+                    outputNode.put("description", description);
+                    if (!store.getError(row).equals("nesetat")) {
+                        outputNode.put("error", store.getError(row));
                     }
                 }
                 break;
 
             case WITHDRAW_SAVINGS:
-                outputNode.put("description", transaction.getDescription());
-                outputNode.put("timestamp", transaction.getTimestamp());
+                outputNode.put("description", description);
+                outputNode.put("timestamp", store.getTimestamp(row));
                 break;
 
             case UPGRADE_PLAN:
-                outputNode.put("description", transaction.getDescription());
-                outputNode.put("accountIBAN", transaction.getFromAccount());
-                outputNode.put("newPlanType", transaction.getCommerciant());
-                outputNode.put("timestamp", transaction.getTimestamp());
+                outputNode.put("description", description);
+                outputNode.put("accountIBAN", store.getFromAccount(row));
+                outputNode.put("newPlanType", store.getCommerciant(row));
+                outputNode.put("timestamp", store.getTimestamp(row));
                 break;
 
             case CASHWITHDRAWAL:
-                if (transaction.getStatus().equals(TransactionStatus.successful)) {
-                    outputNode.put("amount", transaction.getAmount());
+                if (store.getStatus(row).equals(TransactionStatus.successful)) {
+                    outputNode.put("amount", amount);
                 }
                 break;
 
             case ADD_INTEREST:
-                outputNode.put("amount", transaction.getAmount());
-                outputNode.put("currency", transaction.getCurrency());
+                outputNode.put("amount", amount);
+                outputNode.put("currency", store.getCurrency(row));
                 break;
 
             case SPLIT_CUSTOM:
-                if (transaction.getStatus().equals(TransactionStatus.successful)) {
-                    outputNode.put("description", transaction.getDescription());
-                    outputNode.put("currency", transaction.getCurrency());
-                    outputNode.put("timestamp", transaction.getTimestamp());
-                    outputNode.put("splitPaymentType", transaction.getSplitPaymentType());
-
-                    if (!transaction.getError().equals("nesetat")) {
-                        outputNode.put("error", transaction.getError());
+                if (store.getStatus(row).equals(TransactionStatus.successful)) {
+                    outputNode.put("description", description);
+                    outputNode.put("currency", store.getCurrency(row));
+                    outputNode.put("timestamp", store.getTimestamp(row));
+                    outputNode.put("splitPaymentType", store.getSplitPaymentType(row));
+
+                    if (!store.getError(row).equals("nesetat")) {
+                        outputNode.put("error", store.getError(row));
                     }
 
-                    if (transaction.getSplitPaymentType().equals("custom")) {
+                    if (store.getSplitPaymentType(row).equals("custom")) {
                         ArrayNode amountForUsersArray = outputNode.putArray("amountForUsers");
-                        for (Double amount : transaction.getAmountForUsers()) {
-                            amountForUsersArray.add(amount);
+                        for (Double share : store.getAmountForUsers(row)) {
+                            amountForUsersArray.add(share);
                         }
                     } else {
-                        outputNode.put("amount", transaction.getAmount());
+                        outputNode.put("amount", amount);
                     }
 
                     ArrayNode involvedAccountsArray2 = outputNode.putArray("involvedAccounts");
-                    for (String account : transaction.getInvolvedAccounts()) {
+                    for (String account : store.getInvolvedAccounts(row)) {
                         involvedAccountsArray2.add(account);
                     }
 
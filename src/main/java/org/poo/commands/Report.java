@@ -1,15 +1,15 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Account.Account;
-import org.poo.entities.Transaction;
 import org.poo.entities.TransactionType;
-import org.poo.entities.User;
 import org.poo.fileio.CommandInput;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
 import org.poo.repository.AccountRepository;
 import org.poo.repository.TransactionRepository;
+import org.poo.repository.TransactionStore;
 import org.poo.repository.UserRepository;
 import org.poo.services.TransactionService;
 
@@ -20,36 +20,20 @@ import java.util.Set;
  * Command for generating a report on account transactions.
  */
 public final class Report implements Command {
-    private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    public Report(final AccountRepository accountRepository,
-                  final TransactionRepository transactionRepository,
-                  final UserRepository userRepository,
-                  final CommandInput command,
-                  final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
-        this.userRepository = userRepository;
-        this.command = command;
-        this.output = output;
-    }
-
     @Override
-    public void execute() {
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode reportNode = mapper.createObjectNode();
-        reportNode.put("command", "report");
-        reportNode.put("timestamp", command.getTimestamp());
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final UserRepository userRepository = context.getUserRepository();
+        final OutputSink output = context.getOutput();
+
+        ObjectNode reportNode = JsonOutput.result("report", command.getTimestamp());
 
         // Obtain IBAN
         String accountIban = command.getAccount();
 
         // Create the output
-        ObjectNode accountDetailsNode = mapper.createObjectNode();
+        ObjectNode accountDetailsNode = JsonOutput.objectNode();
         Account account = accountRepository.getAccountByIban(accountIban);
         if (account != null) {
             accountDetailsNode.put("IBAN", account.getIban());
@@ -66,41 +50,34 @@ public final class Report implements Command {
         // Avoiding double print of the transactions with the same timestamp
         Set<Integer> processedTimestamps = new HashSet<>();
 
-        ArrayNode transactionsArray = mapper.createArrayNode();
+        ArrayNode transactionsArray = JsonOutput.arrayNode();
         int startTimestamp = command.getStartTimestamp();
         int endTimestamp = command.getEndTimestamp();
-        User user = account.getOwner();
-
-        for (Transaction transaction : transactionRepository.getAllTransactions()) {
-            // Verify if it's the user I need
-            if (!transaction.getEmail().equals(user.getEmail())) {
-                continue;
-            }
 
+        // Only the transactions in the wanted range
+        final TransactionStore store = transactionRepository.getStore();
+        final String email = account.getOwner().getEmail();
+        transactionRepository.forEachRowByEmail(email, startTimestamp, endTimestamp, row -> {
             // Condition for actions based on the account
-            if (transaction.getType().equals(TransactionType.CREATE_CARD)
-                    && !transaction.getFromAccount().equals(accountIban)) {
-                continue;
+            if (store.getType(row).equals(TransactionType.CREATE_CARD)
+                    && !store.getFromAccount(row).equals(accountIban)) {
+                return;
             }
 
-            // Find the transactions in the wanted range
-            if (transaction.getTimestamp() >= startTimestamp
-                    && transaction.getTimestamp() <= endTimestamp) {
-                // Verify if I already printed the timestamp
-                if (processedTimestamps.contains(transaction.getTimestamp())) {
-                    continue;
-                }
+            // Verify if I already printed the timestamp
+            if (processedTimestamps.contains(store.getTimestamp(row))) {
+                return;
+            }
 
-                // Processed timestamps
-                processedTimestamps.add(transaction.getTimestamp());
+            // Processed timestamps
+            processedTimestamps.add(store.getTimestamp(row));
 
-                // Add to the report
-                ObjectNode transactionNode = mapper.createObjectNode();
-                TransactionService.formatPrint(transaction, command, output,
-                        transactionNode, userRepository);
-                transactionsArray.add(transactionNode);
-            }
-        }
+            // Add to the report
+            ObjectNode transactionNode = JsonOutput.objectNode();
+            TransactionService.formatPrint(store, row, command, output,
+                    transactionNode, userRepository);
+            transactionsArray.add(transactionNode);
+        });
 
         accountDetailsNode.set("transactions", transactionsArray);
         reportNode.set("output", accountDetailsNode);
@@ -1,89 +1,59 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Account.Account;
 import org.poo.entities.Card.Card;
 import org.poo.entities.Card.CardStatus;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionStatus;
 import org.poo.entities.TransactionType;
-import org.poo.entities.accountAlias.Alias;
 import org.poo.fileio.CommandInput;
-import org.poo.repository.AccountRepository;
-import org.poo.repository.AliasRepository;
+import org.poo.output.JsonOutput;
 import org.poo.repository.TransactionRepository;
+import org.poo.services.AccountResolver;
 import org.poo.services.ExchangeService;
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.Money;
 
 /**
  * Command for sending money between accounts.
  */
 public final class SendMoney implements Command {
-    private static final double STANDARD_COMMISSION_RATE = 0.2 / 100;
-    private static final double SILVER_COMMISSION_RATE = 0.1 / 100;
-    private static final double SILVER_COMMISSION_THRESHOLD = 500;
-
-    private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
-    private final AliasRepository aliasRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    public SendMoney(final AccountRepository accountRepository,
-                     final TransactionRepository transactionRepository,
-                     final AliasRepository aliasRepository,
-                     final CommandInput command,
-                     final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
-        this.aliasRepository = aliasRepository;
-        this.command = command;
-        this.output = output;
-    }
 
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final AccountResolver accountResolver = context.getAccountResolver();
+
         // Find the sender account by IBAN or alias
-        Account sender = accountRepository.findAccountByIban(command.getAccount());
-        if (sender == null) {
-            Alias senderAlias = aliasRepository.findAliasByAlias(command.getAccount());
-            if (senderAlias != null) {
-                sender = accountRepository.findAccountByIban(senderAlias.getAccountIBAN());
-            }
-        }
+        Account sender = accountResolver.resolve(command.getAccount());
 
         if (sender == null) {
-            createErrorOutput("User not found", command.getTimestamp());
+            createErrorOutput(context, "User not found", command.getTimestamp());
             return;
         }
 
-        Account receiver = accountRepository.findAccountByIban(command.getReceiver());
-        if (receiver == null) {
-            Alias receiverAlias = aliasRepository.findAliasByAlias(command.getReceiver());
-            if (receiverAlias != null) {
-                receiver = accountRepository.findAccountByIban(receiverAlias.getAccountIBAN());
-            }
-        }
+        Account receiver = accountResolver.resolve(command.getReceiver());
 
         if (receiver == null) {
-            createErrorOutput("User not found", command.getTimestamp());
+            createErrorOutput(context, "User not found", command.getTimestamp());
             return;
         }
 
         Card card = sender.getCard(command.getAccount());
-        double commission = 0.0;
+        long commission = 0;
 
         if (card != null && card.getStatus().equals(CardStatus.frozen)) {
             // Create a transaction if the card is frozen
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     sender.getEmail(),
                     sender.getIban(),
                     receiver.getIban(),
                     0.0,
                     sender.getCurrency(),
                     command.getTimestamp(),
-                    "The card is frozen",
+                    TransactionDescription.CARD_FROZEN,
                     TransactionType.CHECK_CARD_STATUS,
                     null,
                     null,
@@ -96,37 +66,36 @@ public final class SendMoney implements Command {
         // Get sender's and receiver's currencies
         String senderCurrency = sender.getCurrency();
         String receiverCurrency = receiver.getCurrency();
+        int senderCurrencyId = sender.getCurrencyId();
+        int receiverCurrencyId = receiver.getCurrencyId();
 
         // Check if the sender has sufficient funds
-        if (sender.getBalance() - sender.getBlockAmount() < command.getAmount()) {
+        long sent = Money.ofUnits(command.getAmount(), Money.LEDGER_ROUNDING);
+        if (sender.getAvailableMinorUnits() < sent) {
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     sender.getEmail(), sender.getIban(), receiver.getIban(),
                     0.0, senderCurrency, command.getTimestamp(),
-                    "Insufficient funds", TransactionType.INSUFFICIENT_FUNDS,
+                    TransactionDescription.INSUFFICIENT_FUNDS, TransactionType.INSUFFICIENT_FUNDS,
                     null, null, TransactionStatus.sent);
             transactionRepository.recordTransaction(transaction);
             return;
         }
 
-        if (senderCurrency.equals(receiverCurrency)) {
-            sender.setBalance(sender.getBalance() - command.getAmount());
-            receiver.setBalance(receiver.getBalance() + command.getAmount());
+        if (senderCurrencyId == receiverCurrencyId) {
+            sender.debit(sent);
+            receiver.credit(sent);
 
-            ExchangeService exchangeService = ExchangeService.getInstance();
-            double suminron = exchangeService.convert(command.getAmount(), senderCurrency, "RON");
+            ExchangeService exchangeService = context.getBank().getExchangeService();
+            double suminron = exchangeService.convert(command.getAmount(), senderCurrencyId,
+                    CurrencyRegistry.RON, command.getTimestamp());
+            commission = Money.commission(sent, sender.getOwner().getPlan(), suminron);
 
-            if (sender.getOwner().getPlan().equals("standard")) {
-                commission = STANDARD_COMMISSION_RATE * command.getAmount();
-            } else if (sender.getOwner().getPlan().equals("silver")) {
-                if (suminron >= SILVER_COMMISSION_THRESHOLD) {
-                    commission = SILVER_COMMISSION_RATE * command.getAmount();
-                }
-            }
-
-            sender.setBalance(sender.getBalance() - commission);
+            sender.debit(commission);
 
             // Create the transaction for sender
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     sender.getEmail(), sender.getIban(), receiver.getIban(),
                     command.getAmount(), senderCurrency, command.getTimestamp(),
                     command.getDescription(), TransactionType.SEND_MONEY,
@@ -135,6 +104,7 @@ public final class SendMoney implements Command {
 
             // Create transaction for receiver
             Transaction received = new Transaction(
+                    transactionRepository.getStore(),
                     receiver.getEmail(), sender.getIban(), receiver.getIban(),
                     command.getAmount(), receiverCurrency, command.getTimestamp(),
                     command.getDescription(), TransactionType.SEND_MONEY, null,
@@ -143,27 +113,22 @@ public final class SendMoney implements Command {
 
         } else {
             // Convert the amount if currencies do not match
-            ExchangeService exchangeService = ExchangeService.getInstance();
+            ExchangeService exchangeService = context.getBank().getExchangeService();
             double convertedAmount = exchangeService.convert(command.getAmount(),
-                    senderCurrency, receiverCurrency);
-
-            sender.setBalance(sender.getBalance() - command.getAmount());
-            receiver.setBalance(receiver.getBalance() + convertedAmount);
+                    senderCurrencyId, receiverCurrencyId, command.getTimestamp());
 
-            double suminron = exchangeService.convert(command.getAmount(), senderCurrency, "RON");
+            sender.debit(sent);
+            receiver.credit(Money.ofUnits(convertedAmount, Money.LEDGER_ROUNDING));
 
-            if (sender.getOwner().getPlan().equals("standard")) {
-                commission = STANDARD_COMMISSION_RATE * command.getAmount();
-            } else if (sender.getOwner().getPlan().equals("silver")) {
-                if (suminron >= SILVER_COMMISSION_THRESHOLD) {
-                    commission = SILVER_COMMISSION_RATE * command.getAmount();
-                }
-            }
+            double suminron = exchangeService.convert(command.getAmount(), senderCurrencyId,
+                    CurrencyRegistry.RON, command.getTimestamp());
+            commission = Money.commission(sent, sender.getOwner().getPlan(), suminron);
 
-            sender.setBalance(sender.getBalance() - commission);
+            sender.debit(commission);
 
             // Create the transaction
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     sender.getEmail(), sender.getIban(), receiver.getIban(),
                     command.getAmount(), senderCurrency, command.getTimestamp(),
                     command.getDescription(), TransactionType.SEND_MONEY,
@@ -172,6 +137,7 @@ public final class SendMoney implements Command {
 
             // Create transaction for receiver after currency conversion
             Transaction received = new Transaction(
+                    transactionRepository.getStore(),
                     receiver.getEmail(),
                     sender.getIban(),
                     receiver.getIban(),
@@ -188,15 +154,8 @@ public final class SendMoney implements Command {
         }
     }
 
-    private void createErrorOutput(final String description, final int timestamp) {
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode out = mapper.createObjectNode();
-        out.put("command", "sendMoney");
-        ObjectNode out2 = mapper.createObjectNode();
-        out2.put("description", description);
-        out.put("timestamp", timestamp);
-        out2.put("timestamp", timestamp);
-        out.set("output", out2);
-        output.add(out);
+    private void createErrorOutput(final ExecutionContext context, final String description,
+                                   final int timestamp) {
+        context.getOutput().add(JsonOutput.errorOutput("sendMoney", description, timestamp));
     }
 }
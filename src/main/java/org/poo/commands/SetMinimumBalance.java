@@ -8,17 +8,10 @@ import org.poo.entities.Account.Account;
  * Command to set the minimum balance for an account.
  */
 public final class SetMinimumBalance implements Command {
-    private final AccountRepository accountRepository;
-    private final CommandInput command;
-
-    public SetMinimumBalance(final AccountRepository accountRepository,
-                             final CommandInput command) {
-        this.accountRepository = accountRepository;
-        this.command = command;
-    }
-
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+
         Account account = accountRepository.findAccountByIban(command.getAccount());
         if (account == null) {
             throw new IllegalArgumentException("Account not found: " + command.getAccount());
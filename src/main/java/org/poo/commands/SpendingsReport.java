@@ -1,63 +1,39 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Account.Account;
 import org.poo.entities.Account.AccountType;
-import org.poo.entities.Transaction;
 import org.poo.entities.TransactionType;
 import org.poo.entities.User;
-import org.poo.entities.spendings.Spending;
 import org.poo.fileio.CommandInput;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
 import org.poo.repository.AccountRepository;
-import org.poo.repository.CardRepository;
 import org.poo.repository.TransactionRepository;
+import org.poo.repository.TransactionStore;
 import org.poo.repository.UserRepository;
 import org.poo.repository.SpendingsRepository;
-import org.poo.services.ExchangeService;
+import org.poo.utils.Money;
 
-import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 public final class SpendingsReport implements Command {
-    private final AccountRepository accountRepository;
-    private final CardRepository cardRepository;
-    private final UserRepository userRepository;
-    private final TransactionRepository transactionRepository;
-    private final SpendingsRepository spendingsRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    public SpendingsReport(final AccountRepository accountRepository,
-                           final CardRepository cardRepository,
-                           final UserRepository userRepository,
-                           final TransactionRepository transactionRepository,
-                           final SpendingsRepository spendingsRepository,
-                           final CommandInput command,
-                           final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.cardRepository = cardRepository;
-        this.userRepository = userRepository;
-        this.transactionRepository = transactionRepository;
-        this.spendingsRepository = spendingsRepository;
-        this.command = command;
-        this.output = output;
-    }
-
     @Override
-    public void execute() {
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode result = mapper.createObjectNode();
-        result.put("command", "spendingsReport");
-        result.put("timestamp", command.getTimestamp());
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final UserRepository userRepository = context.getUserRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final SpendingsRepository spendingsRepository = context.getSpendingsRepository();
+        final OutputSink output = context.getOutput();
+
+        ObjectNode result = JsonOutput.result("spendingsReport", command.getTimestamp());
 
         String accountIban = command.getAccount();
         Account account = accountRepository.findAccountByIban(accountIban);
 
         if (account == null) {
-            ObjectNode errorNode = mapper.createObjectNode();
+            ObjectNode errorNode = JsonOutput.objectNode();
             errorNode.put("description", "Account not found");
             errorNode.put("timestamp", command.getTimestamp());
             result.set("output", errorNode);
@@ -66,7 +42,7 @@ public final class SpendingsReport implements Command {
         }
 
         if (account.getAccType().equals(AccountType.savings)) {
-            ObjectNode errorNode = mapper.createObjectNode();
+            ObjectNode errorNode = JsonOutput.objectNode();
             errorNode.put("error", "This kind of report is not supported for a saving account");
             result.set("output", errorNode);
             output.add(result);
@@ -75,48 +51,28 @@ public final class SpendingsReport implements Command {
 
         User user = userRepository.findUserByEmail(account.getOwner().getEmail());
         if (user == null) {
-            ObjectNode errorNode = mapper.createObjectNode();
+            ObjectNode errorNode = JsonOutput.objectNode();
             errorNode.put("description", "User not found for this account");
             result.set("output", errorNode);
             output.add(result);
             return;
         }
 
-        ObjectNode accountDetails = mapper.createObjectNode();
+        ObjectNode accountDetails = JsonOutput.objectNode();
         accountDetails.put("IBAN", account.getIban());
         accountDetails.put("balance", account.getBalance());
         accountDetails.put("currency", account.getCurrency());
 
-        ArrayNode commerciantsArray = mapper.createArrayNode();
-        List<Spending> spendings = spendingsRepository.getSpendingsByIban(account.getIban());
-
+        ArrayNode commerciantsArray = JsonOutput.arrayNode();
         int startTimestamp = command.getStartTimestamp();
         int endTimestamp = command.getEndTimestamp();
-        ExchangeService exchangeService = ExchangeService.getInstance();
-
-        // Calculate the total amount spent at each commerciant
-        Map<String, Double> commerciantTotals = new TreeMap<>();
-        for (Spending spending : spendings) {
-            if (spending.getLastTimestamp() >= startTimestamp
-                    && spending.getLastTimestamp() <= endTimestamp) {
-                // Convert the amount to the account's currency
-                double convertedAmount = exchangeService.convert(
-                        spending.getTotalAmount(),
-                        spending.getCurrency(),
-                        account.getCurrency()
-                );
-
-                commerciantTotals.merge(
-                        spending.getCommerciantName(),
-                        convertedAmount,
-                        Double::sum
-                );
-            }
-        }
+        // Total amount spent at each commerciant, in the account's currency
+        Map<String, Double> commerciantTotals = spendingsRepository.getTotalsByCommerciant(
+                account.getIban(), startTimestamp, endTimestamp);
 
         // Add the commerciants to the response
         for (Map.Entry<String, Double> entry : commerciantTotals.entrySet()) {
-            ObjectNode commerciantNode = mapper.createObjectNode();
+            ObjectNode commerciantNode = JsonOutput.objectNode();
             commerciantNode.put("commerciant", entry.getKey());
             commerciantNode.put("total", entry.getValue());
             commerciantsArray.add(commerciantNode);
@@ -124,24 +80,21 @@ public final class SpendingsReport implements Command {
 
         accountDetails.set("commerciants", commerciantsArray);
 
-        ArrayNode transactionsArray = mapper.createArrayNode();
-        List<Transaction> transactions
-                = transactionRepository.getTransactionsByAccount(accountIban);
-
-        for (Transaction transaction : transactions) {
-            if (transaction.getTimestamp() >= startTimestamp
-                    && transaction.getTimestamp() <= endTimestamp
-                    && transaction.getEmail().equals(user.getEmail())
-                    && transaction.getType() == TransactionType.PAY_ONLINE) {
-
-                ObjectNode transactionNode = mapper.createObjectNode();
-                transactionNode.put("amount", transaction.getAmount());
-                transactionNode.put("commerciant", transaction.getCommerciant());
-                transactionNode.put("description", transaction.getDescription());
-                transactionNode.put("timestamp", transaction.getTimestamp());
+        ArrayNode transactionsArray = JsonOutput.arrayNode();
+        final TransactionStore store = transactionRepository.getStore();
+        transactionRepository.forEachRowByAccount(accountIban,
+                startTimestamp, endTimestamp, row -> {
+            if (store.getEmail(row).equals(user.getEmail())
+                    && store.getType(row) == TransactionType.PAY_ONLINE) {
+
+                ObjectNode transactionNode = JsonOutput.objectNode();
+                transactionNode.put("amount", Money.toUnits(store.getAmount(row)));
+                transactionNode.put("commerciant", store.getCommerciant(row));
+                transactionNode.put("description", store.getDescription(row));
+                transactionNode.put("timestamp", store.getTimestamp(row));
                 transactionsArray.add(transactionNode);
             }
-        }
+        });
         accountDetails.set("transactions", transactionsArray);
 
         result.set("output", accountDetails);
@@ -2,6 +2,7 @@ package org.poo.commands;
 
 import org.poo.entities.User;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.Split;
 import org.poo.entities.TransactionStatus;
 import org.poo.entities.TransactionType;
@@ -10,54 +11,31 @@ import org.poo.fileio.CommandInput;
 import org.poo.repository.AccountRepository;
 import org.poo.repository.SplitsRepository;
 import org.poo.repository.TransactionRepository;
-import org.poo.services.ExchangeService;
+import org.poo.utils.Money;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public final class SplitPayment implements Command {
-    private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
-    private final SplitsRepository splitsRepository;
-    private final CommandInput command;
-    private static final DecimalFormatSymbols SYMBOLS;
-    private static final DecimalFormat DECIMAL_FORMAT;
-    private final String typeOfSplit;
-
-    // Format for printing
-    static {
-        SYMBOLS = new DecimalFormatSymbols();
-        SYMBOLS.setDecimalSeparator('.');
-        DECIMAL_FORMAT = new DecimalFormat("0.00", SYMBOLS);
-    }
-
-    public SplitPayment(final AccountRepository accountRepository,
-                        final TransactionRepository transactionRepository,
-                        final SplitsRepository splitsRepository,
-                        final CommandInput command) {
-        this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
-        this.splitsRepository = splitsRepository;
-        this.command = command;
-        this.typeOfSplit = command.getSplitPaymentType();
-    }
-
     @Override
-    public void execute() {
-
-        if (typeOfSplit.equals("equal")) {
-            executeEqually();
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        if (command.getSplitPaymentType().equals("equal")) {
+            executeEqually(command, context);
         } else {
-            executeCustom();
+            executeCustom(command, context);
         }
     }
 
-    private void executeEqually() {
+    private void executeEqually(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final SplitsRepository splitsRepository = context.getSplitsRepository();
+
         List<String> accounts = command.getAccounts();
         double totalAmount = command.getAmount();
         String currency = command.getCurrency();
+        int currencyId = context.getBank().getCurrencies().idOf(currency);
         double amount = totalAmount / accounts.size();
         List<String> involvedAccounts = command.getAccounts();
         int timestamp = command.getTimestamp();
@@ -80,31 +58,21 @@ public final class SplitPayment implements Command {
         }
 
         Split split = new Split(accountObjects, command.getAmount(), currency, timestamp,
-                typeOfSplit, amountsForUsers);
+                command.getSplitPaymentType(), amountsForUsers, context.getBank().getCurrencies());
         splitsRepository.addSplit(split);
 
+        // Every account's share, in the account's currency
+        double[] shares = new double[accountObjects.size()];
+        Arrays.fill(shares, amount);
+        context.getBank().getExchangeService().convertAll(shares, currencyId,
+                currencyIds(accountObjects), timestamp, shares);
+
         // Find the account with insufficient funds
         String insufficientFundsAccount = null;
 
-        for (String accountIban : accounts) {
-            Account account = accountRepository.findAccountByIban(accountIban);
-
-            if (account == null) {
-                throw new IllegalArgumentException("Account does not exist: " + accountIban);
-            }
-
-            // Set the account with insufficient funds
-            if (account.getCurrency().equals(currency)) {
-                if (account.getBalance() < amount) {
-                    insufficientFundsAccount = accountIban;
-                }
-            } else {
-                ExchangeService exchangeService = ExchangeService.getInstance();
-                double convertedAmount = exchangeService.convert(amount, currency,
-                        account.getCurrency());
-                if (account.getBalance() < convertedAmount) {
-                    insufficientFundsAccount = accountIban;
-                }
+        for (int i = 0; i < accountObjects.size(); i++) {
+            if (accountObjects.get(i).getBalance() < shares[i]) {
+                insufficientFundsAccount = accounts.get(i);
             }
         }
 
@@ -119,51 +87,43 @@ public final class SplitPayment implements Command {
                 User owner = account.getOwner();
 
                 Transaction errorTransaction = new Transaction(
+                        transactionRepository.getStore(),
                         owner.getEmail(),
                         account.getIban(),
                         null,
                         amount,
                         currency,
                         command.getTimestamp(),
-                        "Split payment of " + DECIMAL_FORMAT.format(totalAmount) + " " + currency,
+                        TransactionDescription.SPLIT_PAYMENT,
                         TransactionType.INSUFFICIENT_FUNDS_FOR_SPLIT,
                         null,
                         null,
                         TransactionStatus.PENDING
                 );
+                errorTransaction.setDescriptionArgument(totalAmount);
                 errorTransaction.setError("Account " + insufficientFundsAccount
                         + " has insufficient funds for a split payment.");
                 errorTransaction.setStatus(TransactionStatus.PENDING);
                 errorTransaction.setInvolvedAccounts(involvedAccounts);
                 transactionRepository.recordTransaction(errorTransaction);
+                split.addTransaction(errorTransaction);
             }
             return;
         }
 
-        for (String accountIban : accounts) {
-            Account account = accountRepository.findAccountByIban(accountIban);
-
-            if (account == null) {
-                throw new IllegalArgumentException("Account does not exist " + accountIban);
-            }
-
+        for (int i = 0; i < accountObjects.size(); i++) {
+            Account account = accountObjects.get(i);
             User owner = account.getOwner();
 
-            // Withdraw the money based on currency
-            if (account.getCurrency().equals(currency)) {
-                account.setBalance(account.getBalance() - amount);
-            } else {
-                ExchangeService exchangeService = ExchangeService.getInstance();
-                double convertedAmount = exchangeService.convert(amount, currency,
-                        account.getCurrency());
-                account.setBalance(account.getBalance() - convertedAmount);
-            }
+            // Withdraw the share in the account's currency
+            account.debit(Money.ofUnits(shares[i], Money.LEDGER_ROUNDING));
 
             // Create transaction for every account involved
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     owner.getEmail(),
                     command.getTimestamp(),
-                    "Split payment of " + DECIMAL_FORMAT.format(totalAmount) + " " + currency,
+                    TransactionDescription.SPLIT_PAYMENT,
                     totalAmount,
                     currency,
                     amount,
@@ -172,16 +132,25 @@ public final class SplitPayment implements Command {
             );
             transaction.setStatus(TransactionStatus.PENDING);
             transactionRepository.recordTransaction(transaction);
+            split.addTransaction(transaction);
         }
     }
 
     /**
      * Executes a custom split payment.
+     *
+     * @param command the command input.
+     * @param context the context the command runs in.
      */
-    public void executeCustom() {
+    public void executeCustom(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final SplitsRepository splitsRepository = context.getSplitsRepository();
+
         List<String> accounts = command.getAccounts();
         List<Double> amountsForUsers = command.getAmountForUsers();
         String currency = command.getCurrency();
+        int currencyId = context.getBank().getCurrencies().idOf(currency);
         int timestamp = command.getTimestamp();
 
         List<Account> accountObjects = new ArrayList<>();
@@ -195,27 +164,25 @@ public final class SplitPayment implements Command {
 
         // Add the split to the repository
         Split split = new Split(accountObjects, command.getAmount(), currency, timestamp,
-                typeOfSplit, amountsForUsers);
+                command.getSplitPaymentType(), amountsForUsers, context.getBank().getCurrencies());
         splitsRepository.addSplit(split);
 
+        // Every account's share, in the account's currency
+        double[] shares = new double[accountObjects.size()];
+        for (int i = 0; i < shares.length; i++) {
+            shares[i] = amountsForUsers.get(i);
+        }
+        context.getBank().getExchangeService().convertAll(shares, currencyId,
+                currencyIds(accountObjects), timestamp, shares);
+
         String insufficientFundsAccount = null;
 
         // Verify if there are insufficient funds for the split payment
         for (int i = 0; i < accountObjects.size(); i++) {
-            Account account = accountRepository.findAccountByIban(accounts.get(i));
-            if (account.getCurrency().equals(currency)) {
-                if (account.getBalance() < amountsForUsers.get(i)) {
-                    insufficientFundsAccount = account.getIban();
-                    break;
-                }
-            } else {
-                ExchangeService exchangeService = ExchangeService.getInstance();
-                double convertedAmount = exchangeService.convert(amountsForUsers.get(i), currency,
-                        account.getCurrency());
-                if (account.getBalance() < convertedAmount) {
-                    insufficientFundsAccount = account.getIban();
-                    break;
-                }
+            Account account = accountObjects.get(i);
+            if (account.getBalance() < shares[i]) {
+                insufficientFundsAccount = account.getIban();
+                break;
             }
         }
 
@@ -225,12 +192,12 @@ public final class SplitPayment implements Command {
 
             // Create transaction for every account involved
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     account.getOwner().getEmail(),
                     command.getAmountForUsers(),
                     command.getAmount(),
                     currency,
-                    "Split payment of " + DECIMAL_FORMAT.format(command.getAmount())
-                            + " " + currency,
+                    TransactionDescription.SPLIT_PAYMENT,
                     accounts,
                     "custom",
                     TransactionType.SPLIT_CUSTOM,
@@ -243,6 +210,19 @@ public final class SplitPayment implements Command {
                         + " has insufficient funds for a split payment.");
             }
             transactionRepository.recordTransaction(transaction);
+            split.addTransaction(transaction);
+        }
+    }
+
+    /**
+     * @param accounts the accounts of a split.
+     * @return the currency id of every account, in order.
+     */
+    private static int[] currencyIds(final List<Account> accounts) {
+        int[] ids = new int[accounts.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = accounts.get(i).getCurrencyId();
         }
+        return ids;
     }
 }
@@ -2,17 +2,17 @@ package org.poo.commands;
 
 import org.poo.entities.Account.Account;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionStatus;
 import org.poo.entities.TransactionType;
 import org.poo.entities.User;
+import org.poo.output.JsonOutput;
 import org.poo.repository.AccountRepository;
 import org.poo.repository.TransactionRepository;
-import org.poo.repository.UserRepository;
 import org.poo.services.ExchangeService;
+import org.poo.utils.CurrencyRegistry;
 import org.poo.fileio.CommandInput;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.poo.utils.Money;
 
 /**
  * Command for upgrading a user's plan.
@@ -23,39 +23,22 @@ public class UpgradePlan implements Command {
     private static final int STANDARD_TO_SILVER = 100;
     private static final int STANDARD_TO_GOLD = 350;
     private static final int GOLD = 3;
-    private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
-    private final ExchangeService exchangeService;
-    private final ArrayNode output;
-    private final CommandInput command;
-
-    public UpgradePlan(final TransactionRepository transactionRepository,
-                       final AccountRepository accountRepository,
-                       final CommandInput command,
-                       final UserRepository userRepository,
-                       final ArrayNode output,
-                       final ExchangeService exchangeService) {
-        this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
-        this.userRepository = userRepository;
-        this.output = output;
-        this.command = command;
-        this.exchangeService = exchangeService;
-    }
 
     /**
      * Executes the upgrade plan command.
      */
     @Override
-    public void execute() {
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final ExchangeService exchangeService = context.getBank().getExchangeService();
+
         String newPlanType = command.getNewPlanType();
         String iban = command.getAccount();
         int timestamp = command.getTimestamp();
 
         Account account = accountRepository.getAccountByIban(iban);
         if (account == null) {
-            createErrorOutput("Account not found", timestamp);
+            createErrorOutput(context, "Account not found", timestamp);
             return;
         }
 
@@ -89,17 +72,19 @@ public class UpgradePlan implements Command {
             // Check if the user has sufficient funds for the fee
             if (account.getCurrency().equalsIgnoreCase("RON")) {
                 if (account.getBalance() < fee) {
-                    recordTransaction(user, account, fee, "Insufficient funds",
+                    recordTransaction(context, user, account, fee,
+                            TransactionDescription.INSUFFICIENT_FUNDS,
                             TransactionType.UPGRADE_PLAN_NO_FUNDS, timestamp, newPlanType,
                             TransactionStatus.failed);
                     return;
                 }
             } else {
                 // Convert the fee to the account's currency
-                double feeInAccountCurrency = exchangeService.convert(fee, "RON",
-                        account.getCurrency());
+                double feeInAccountCurrency = exchangeService.convert(fee, CurrencyRegistry.RON,
+                        account.getCurrencyId(), timestamp);
                 if (account.getBalance() < feeInAccountCurrency) {
-                    recordTransaction(user, account, fee, "Insufficient funds",
+                    recordTransaction(context, user, account, fee,
+                            TransactionDescription.INSUFFICIENT_FUNDS,
                             TransactionType.UPGRADE_PLAN_NO_FUNDS, timestamp, newPlanType,
                             TransactionStatus.failed);
                     return;
@@ -107,14 +92,15 @@ public class UpgradePlan implements Command {
                 fee = feeInAccountCurrency;
             }
 
-            account.setBalance(account.getBalance() - fee);
+            account.debit(Money.ofUnits(fee, Money.LEDGER_ROUNDING));
         }
 
         upgradeUserPlan(user, newPlanType, timestamp, isAutomatic);
 
         // Record the upgrade transaction
-        recordTransaction(user, account, 0.0, isAutomatic
-                ? "Automatic upgrade to Gold" : "Upgrade plan", TransactionType.UPGRADE_PLAN,
+        recordTransaction(context, user, account, 0.0, isAutomatic
+                ? TransactionDescription.AUTOMATIC_UPGRADE : TransactionDescription.UPGRADE_PLAN,
+                TransactionType.UPGRADE_PLAN,
                 timestamp, newPlanType, TransactionStatus.sent);
         isAutomatic = false;
     }
@@ -200,6 +186,7 @@ public class UpgradePlan implements Command {
     /**
      * Records a transaction with the specified details.
      *
+     * @param context the context the command runs in.
      * @param user         The user associated with the transaction.
      * @param account      The account involved in the transaction.
      * @param amount       The transaction amount.
@@ -209,11 +196,15 @@ public class UpgradePlan implements Command {
      * @param newPlanType  The new plan type (if applicable).
      * @param status       The transaction status.
      */
-    private void recordTransaction(final User user, final Account account, final double amount,
-                                   final String description, final TransactionType type,
-                                   final int timestamp, final String newPlanType,
-                                   final TransactionStatus status) {
+    private void recordTransaction(final ExecutionContext context, final User user,
+                                   final Account account, final double amount,
+                                   final TransactionDescription description,
+                                   final TransactionType type, final int timestamp,
+                                   final String newPlanType, final TransactionStatus status) {
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+
         Transaction transaction = new Transaction(
+                transactionRepository.getStore(),
                 user.getEmail(),
                 account.getIban(),
                 account.getIban(),
@@ -232,18 +223,12 @@ public class UpgradePlan implements Command {
     /**
      * Creates an error message and adds it to the output.
      *
+     * @param context the context the command runs in.
      * @param description The error description.
      * @param timestamp   The timestamp of the error.
      */
-    private void createErrorOutput(final String description, final int timestamp) {
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode out = mapper.createObjectNode();
-        out.put("command", "upgradePlan");
-        ObjectNode out2 = mapper.createObjectNode();
-        out2.put("description", description);
-        out.put("timestamp", timestamp);
-        out2.put("timestamp", timestamp);
-        out.set("output", out2);
-        output.add(out);
+    private void createErrorOutput(final ExecutionContext context, final String description,
+                                   final int timestamp) {
+        context.getOutput().add(JsonOutput.errorOutput("upgradePlan", description, timestamp));
     }
 }
@@ -1,52 +1,40 @@
 package org.poo.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Account.AccountType;
 import org.poo.entities.Transaction;
+import org.poo.entities.TransactionDescription;
 import org.poo.entities.TransactionStatus;
 import org.poo.entities.TransactionType;
 import org.poo.entities.User;
 import org.poo.entities.Account.Account;
 import org.poo.fileio.CommandInput;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
 import org.poo.repository.AccountRepository;
 import org.poo.repository.TransactionRepository;
 import org.poo.services.ExchangeService;
+import org.poo.utils.Money;
 
 import java.time.LocalDate;
 import java.time.Period;
 
 public class WithdrawSavings implements Command {
-
     private static final int AGE_LIMIT = 21;
     private static final double COMMISION_RATE = 0.02;
-    private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
-    private final CommandInput command;
-    private final ArrayNode output;
-
-    public WithdrawSavings(final AccountRepository accountRepository,
-                           final TransactionRepository transactionRepository,
-                           final CommandInput command,
-                           final ArrayNode output) {
-        this.accountRepository = accountRepository;
-        this.transactionRepository = transactionRepository;
-        this.command = command;
-        this.output = output;
-    }
 
     /**
      * Executes the withdrawal savings command.
      */
     @Override
-    public void execute() {
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode out = mapper.createObjectNode();
-        out.put("command", "withdrawSavings");
-        out.put("timestamp", command.getTimestamp());
+    public void execute(final CommandInput command, final ExecutionContext context) {
+        final AccountRepository accountRepository = context.getAccountRepository();
+        final TransactionRepository transactionRepository = context.getTransactionRepository();
+        final OutputSink output = context.getOutput();
+
+        ObjectNode out = JsonOutput.result("withdrawSavings", command.getTimestamp());
 
-        ObjectNode response = mapper.createObjectNode();
+        ObjectNode response = JsonOutput.objectNode();
 
         Account account = accountRepository.getAccountByIban(command.getAccount());
         if (account == null) {
@@ -71,9 +59,10 @@ public class WithdrawSavings implements Command {
         int age = calculateAge(owner.getBirthDate());
         if (age < AGE_LIMIT) {
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     owner.getEmail(), account.getIban(), null,
                     0.0, account.getCurrency(), command.getTimestamp(),
-                    "You don't have the minimum age required.", TransactionType.WITHDRAW_SAVINGS,
+                    TransactionDescription.MINIMUM_AGE_REQUIRED, TransactionType.WITHDRAW_SAVINGS,
                     null, null, null);
             transactionRepository.recordTransaction(transaction);
             return;
@@ -81,9 +70,8 @@ public class WithdrawSavings implements Command {
 
         // Find a suitable 'classic' account
         Account targetAccount = null;
-        for (Account acc : accountRepository.getAllAccounts()) {
-            if (acc.getOwner().equals(owner)
-                    && acc.getAccType().equals(AccountType.classic)
+        for (Account acc : accountRepository.getAccountsByOwner(owner.getEmail())) {
+            if (acc.getAccType().equals(AccountType.classic)
                     && acc.getCurrency().equalsIgnoreCase(command.getCurrency())) {
                 targetAccount = acc;
                 break;
@@ -92,9 +80,10 @@ public class WithdrawSavings implements Command {
 
         if (targetAccount == null) {
             Transaction transaction = new Transaction(
+                    transactionRepository.getStore(),
                     owner.getEmail(), account.getIban(), null,
                     0.0, account.getCurrency(), command.getTimestamp(),
-                    "You do not have a classic account.", TransactionType.WITHDRAW_SAVINGS,
+                    TransactionDescription.NO_CLASSIC_ACCOUNT, TransactionType.WITHDRAW_SAVINGS,
                     null, null, null);
             transactionRepository.recordTransaction(transaction);
             return;
@@ -103,10 +92,11 @@ public class WithdrawSavings implements Command {
         // Calculate the required amount in the savings account's currency
         double amountToWithdraw = command.getAmount();
         if (!account.getCurrency().equalsIgnoreCase(command.getCurrency())) {
-            ExchangeService exchangeService = ExchangeService.getInstance();
+            ExchangeService exchangeService = context.getBank().getExchangeService();
             amountToWithdraw = exchangeService.convert(command.getAmount(),
                     command.getCurrency(),
-                    account.getCurrency());
+                    account.getCurrency(),
+                    command.getTimestamp());
         }
 
         // Calculate the commission
@@ -127,8 +117,8 @@ public class WithdrawSavings implements Command {
             return;
         }
 
-        account.setBalance(account.getBalance() - totalNeeded);
-        targetAccount.setBalance(targetAccount.getBalance() + command.getAmount());
+        account.debit(Money.ofUnits(totalNeeded, Money.LEDGER_ROUNDING));
+        targetAccount.credit(Money.ofUnits(command.getAmount(), Money.LEDGER_ROUNDING));
 
         String successDesc = "Savings withdrawal successful";
         if (commission > 0.0) {
@@ -137,6 +127,7 @@ public class WithdrawSavings implements Command {
         }
 
         Transaction transaction = new Transaction(
+                transactionRepository.getStore(),
                 owner.getEmail(), account.getIban(), targetAccount.getIban(),
                 command.getAmount(), command.getCurrency(), command.getTimestamp(),
                 successDesc, TransactionType.WITHDRAW_SAVINGS,
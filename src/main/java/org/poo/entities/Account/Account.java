@@ -5,6 +5,9 @@ import org.poo.entities.User;
 import org.poo.entities.accountAlias.Alias;
 import org.poo.repository.AliasRepository;
 import org.poo.repository.CardRepository;
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.Money;
+import org.poo.utils.StringRegistry;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -18,30 +21,28 @@ import java.util.Set;
  */
 public abstract class Account {
 
-    private static final int THRESHOLD_100 = 100;
     private static final int THRESHOLD_300 = 300;
-    private static final int THRESHOLD_500 = 500;
     private static final double CASHBACK_GOLD_100 = 0.5;
     private static final double CASHBACK_SILVER_100 = 0.3;
-    private static final double CASHBACK_STANDARD_100 = 0.1;
     private static final double CASHBACK_GOLD_300 = 0.55;
     private static final double CASHBACK_SILVER_300 = 0.4;
-    private static final double CASHBACK_STANDARD_300 = 0.2;
     private static final double CASHBACK_GOLD_500 = 0.7;
     private static final double CASHBACK_SILVER_500 = 0.5;
     private static final double CASHBACK_STANDARD_500 = 0.25;
 
     private String iban;
-    private double balance;
-    private String currency;
+    private long balance; // in Money minor units
+    private int currencyId;
     private User owner;
     private AccountType accType;
     private List<Card> cards;
     private double minimumBalance;
     private boolean hasMinimumBalance;
-    private double blockAmount = 0.0;
+    private long blockAmount = 0; // in Money minor units
     private final CardRepository cardRepository;
     private final AliasRepository aliasRepository;
+    private final StringRegistry strings;
+    private final CurrencyRegistry currencies;
 
     private Map<String, Integer> transactionsPerCommerciant;
     private Map<String, Double> totalSpentPerCommerciant;
@@ -57,12 +58,17 @@ public abstract class Account {
      * @param owner the owner of the account
      * @param cardRepository the repository for cards
      * @param aliasrepo the repository for aliases
+     * @param strings the string pool of the bank
+     * @param currencies the currency ids of the bank
      */
     public Account(final String iban, final String currency, final User owner,
-                   final CardRepository cardRepository, final AliasRepository aliasrepo) {
-        this.iban = iban;
-        this.balance = 0.0;
-        this.currency = currency;
+                   final CardRepository cardRepository, final AliasRepository aliasrepo,
+                   final StringRegistry strings, final CurrencyRegistry currencies) {
+        this.strings = strings;
+        this.currencies = currencies;
+        this.iban = strings.intern(iban);
+        this.balance = 0;
+        this.currencyId = currencies.idOf(currency);
         this.cards = new ArrayList<>();
         this.owner = owner;
         this.hasMinimumBalance = false;
@@ -122,7 +128,7 @@ public abstract class Account {
      * @param amount the amount to be blocked.
      */
     public void setBlockAmount(final double amount) {
-        this.blockAmount = amount;
+        this.blockAmount = Money.ofUnits(amount);
     }
 
     /**
@@ -131,7 +137,16 @@ public abstract class Account {
      * @return the blocked amount.
      */
     public double getBlockAmount() {
-        return blockAmount;
+        return Money.toUnits(blockAmount);
+    }
+
+    /**
+     * Gets the part of the balance that is not blocked.
+     *
+     * @return the available amount, in {@link Money} minor units.
+     */
+    public long getAvailableMinorUnits() {
+        return Money.subtract(balance, blockAmount);
     }
 
     /**
@@ -158,6 +173,15 @@ public abstract class Account {
      * @return the balance.
      */
     public double getBalance() {
+        return Money.toUnits(balance);
+    }
+
+    /**
+     * Gets the balance of the account.
+     *
+     * @return the balance, in {@link Money} minor units.
+     */
+    public long getBalanceMinorUnits() {
         return balance;
     }
 
@@ -167,7 +191,25 @@ public abstract class Account {
      * @param balance the new balance.
      */
     public void setBalance(final double balance) {
-        this.balance = balance;
+        this.balance = Money.ofUnits(balance);
+    }
+
+    /**
+     * Adds an amount to the balance.
+     *
+     * @param minorUnits the amount, in {@link Money} minor units.
+     */
+    public void credit(final long minorUnits) {
+        this.balance = Money.add(balance, minorUnits);
+    }
+
+    /**
+     * Takes an amount from the balance. The balance is not checked.
+     *
+     * @param minorUnits the amount, in {@link Money} minor units.
+     */
+    public void debit(final long minorUnits) {
+        this.balance = Money.subtract(balance, minorUnits);
     }
 
     /**
@@ -176,7 +218,16 @@ public abstract class Account {
      * @return the currency.
      */
     public String getCurrency() {
-        return currency;
+        return currencies.codeOf(currencyId);
+    }
+
+    /**
+     * Gets the interned id of the account's currency.
+     *
+     * @return the currency id.
+     */
+    public int getCurrencyId() {
+        return currencyId;
     }
 
     /**
@@ -185,7 +236,7 @@ public abstract class Account {
      * @param currency the new currency.
      */
     public void setCurrency(final String currency) {
-        this.currency = currency;
+        this.currencyId = currencies.idOf(currency);
     }
 
     /**
@@ -275,7 +326,7 @@ public abstract class Account {
      * @param amount the amount to be deposited.
      */
     public void deposit(final double amount) {
-        this.balance += amount;
+        credit(Money.ofUnits(amount));
     }
 
     /**
@@ -285,23 +336,16 @@ public abstract class Account {
      * @param amount the amount to be withdrawn.
      */
     public void withdraw(final Account acc, final double amount) {
-        String plan = acc.owner.getPlan();
-        double commission = 0.0;
-
-        if (plan.equals("standard")) {
-            commission = CASHBACK_STANDARD_300 / THRESHOLD_100 * amount;
-        } else if (plan.equals("silver")) {
-            if (amount >= THRESHOLD_500) {
-                commission = CASHBACK_STANDARD_100 / THRESHOLD_100 * amount;
-            }
-        }
+        long amountMinorUnits = Money.ofUnits(amount);
+        long commission = Money.commission(amountMinorUnits, acc.owner.getPlan(), amount);
 
-        if (acc.balance < amount + commission) {
+        long total = Money.add(amountMinorUnits, commission);
+        if (acc.balance < total) {
             // Insufficient balance
             return;
         }
 
-        acc.balance -= (amount + commission);
+        acc.debit(total);
     }
 
     /**
@@ -330,7 +374,7 @@ public abstract class Account {
      * @param alias the alias name.
      */
     public void setAlias(final String email, final String accIban, final String alias) {
-        Alias a = new Alias(email, accIban, alias);
+        Alias a = new Alias(email, accIban, alias, strings);
         aliasRepository.addAlias(a);
     }
 
@@ -367,8 +411,8 @@ public abstract class Account {
     public String toString() {
         return "Account{"
                 + "iban='" + iban + '\''
-                + ", balance=" + balance
-                + ", currency='" + currency + '\''
+                + ", balance=" + getBalance()
+                + ", currency='" + getCurrency() + '\''
                 + ", owner=" + owner.getEmail()
                 + ", cards=" + cards.size()
                 + '}';
@@ -4,6 +4,8 @@ import org.poo.entities.User;
 import org.poo.repository.AliasRepository;
 import org.poo.repository.CardRepository;
 import org.poo.services.ExchangeService;
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.StringRegistry;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -30,17 +32,22 @@ public class BusinessAccount extends Account {
      * @param owner          the owner of the account
      * @param cardRepository the card repository
      * @param aliasRepository the alias repository
+     * @param strings         the string pool of the bank
+     * @param currencies      the currency ids of the bank
+     * @param exchangeService the exchange service the default deposit limit is converted with
      */
     public BusinessAccount(final String iban, final String currency, final User owner,
                            final CardRepository cardRepository,
-                           final AliasRepository aliasRepository) {
-        super(iban, currency, owner, cardRepository, aliasRepository);
+                           final AliasRepository aliasRepository,
+                           final StringRegistry strings, final CurrencyRegistry currencies,
+                           final ExchangeService exchangeService) {
+        super(iban, currency, owner, cardRepository, aliasRepository, strings, currencies);
         this.ownerEmail = owner.getEmail();
         this.associates = new HashMap<>();
         this.spendingLimits = new HashMap<>();
         this.depositLimits = new HashMap<>();
-        this.depositLimit = ExchangeService.getInstance().convert(FIVE_HUNDRED_RON,
-                "RON", currency);
+        this.depositLimit = exchangeService.convert(FIVE_HUNDRED_RON,
+                CurrencyRegistry.RON, getCurrencyId());
         setAccType(AccountType.business);
     }
 
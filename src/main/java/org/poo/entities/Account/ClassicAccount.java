@@ -3,6 +3,8 @@ package org.poo.entities.Account;
 import org.poo.entities.User;
 import org.poo.repository.AliasRepository;
 import org.poo.repository.CardRepository;
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.StringRegistry;
 
 /**
  * Represents a classic account type. This class extends the abstract Account class.
@@ -21,11 +23,14 @@ public class ClassicAccount extends Account {
      * @param owner the owner of the account
      * @param cardRepository the repository for cards
      * @param aliasrepo the repository for aliases
+     * @param strings the string pool of the bank
+     * @param currencies the currency ids of the bank
      */
     public ClassicAccount(final String iban, final String currency, final double interestRate,
                           final User owner, final CardRepository cardRepository,
-                          final AliasRepository aliasrepo) {
-        super(iban, currency, owner, cardRepository, aliasrepo);
+                          final AliasRepository aliasrepo, final StringRegistry strings,
+                          final CurrencyRegistry currencies) {
+        super(iban, currency, owner, cardRepository, aliasrepo, strings, currencies);
         this.interestRate = interestRate;
         setAccType(AccountType.classic);
     }
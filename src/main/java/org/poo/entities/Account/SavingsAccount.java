@@ -3,6 +3,9 @@ package org.poo.entities.Account;
 import org.poo.entities.User;
 import org.poo.repository.AliasRepository;
 import org.poo.repository.CardRepository;
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.Money;
+import org.poo.utils.StringRegistry;
 
 public class SavingsAccount extends Account {
 
@@ -17,11 +20,14 @@ public class SavingsAccount extends Account {
      * @param owner the owner of the account
      * @param cardRepository the repository for cards
      * @param aliasrepo the repository for aliases
+     * @param strings the string pool of the bank
+     * @param currencies the currency ids of the bank
      */
     public SavingsAccount(final String iban, final String currency, final double interestRate,
                           final User owner, final CardRepository cardRepository,
-                          final AliasRepository aliasrepo) {
-        super(iban, currency, owner, cardRepository, aliasrepo);
+                          final AliasRepository aliasrepo, final StringRegistry strings,
+                          final CurrencyRegistry currencies) {
+        super(iban, currency, owner, cardRepository, aliasrepo, strings, currencies);
         this.interestRate = interestRate;
         setAccType(AccountType.savings);
     }
@@ -52,10 +58,11 @@ public class SavingsAccount extends Account {
      * @return true if the withdrawal is successful, false otherwise
      */
     public boolean withdrawFromSavings(final double amount) {
-        if (getBalance() < amount) {
+        long withdrawn = Money.ofUnits(amount, Money.LEDGER_ROUNDING);
+        if (getBalanceMinorUnits() < withdrawn) {
             return false;
         }
-        setBalance(getBalance() - amount);
+        debit(withdrawn);
         return true;
     }
 
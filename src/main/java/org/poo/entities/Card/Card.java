@@ -1,6 +1,6 @@
 package org.poo.entities.Card;
 
-import org.poo.utils.Utils;
+import org.poo.utils.StringRegistry;
 
 /**
  * Represents a Card with associated account, owner email, type, and status.
@@ -13,16 +13,20 @@ public class Card {
     private CardType cardType; // Card type (CLASSIC, ONE_TIME)
 
     /**
-     * Constructor to initialize a card with account IBAN, owner email, and card type.
+     * Constructor to initialize a card with its number, account IBAN, owner email,
+     * and card type.
      *
+     * @param cardNumber Number of the card.
      * @param accountIban IBAN of the associated account.
      * @param ownerEmail Email address of the card owner.
      * @param cardType Type of the card
+     * @param strings String pool of the bank.
      */
-    public Card(final String accountIban, final String ownerEmail, final CardType cardType) {
-        this.cardNumber = Utils.generateCardNumber();
-        this.accountIban = accountIban;
-        this.ownerEmail = ownerEmail;
+    public Card(final String cardNumber, final String accountIban, final String ownerEmail,
+                final CardType cardType, final StringRegistry strings) {
+        this.cardNumber = cardNumber;
+        this.accountIban = strings.intern(accountIban);
+        this.ownerEmail = strings.intern(ownerEmail);
         this.cardType = cardType;
         this.status = CardStatus.active;
     }
@@ -110,11 +114,13 @@ public class Card {
 
     /**
      * Sets a new card number.
+     * Cards stored in a CardRepository must be renumbered through
+     * {@code CardRepository.regenerateCardNumber} so its index stays in sync.
      *
-     * @param card The card whose number is to be updated.
+     * @param cardNumber The new card number.
      */
-    public void setCardNumber(final Card card) {
-        card.cardNumber = Utils.generateCardNumber();
+    public void setCardNumber(final String cardNumber) {
+        this.cardNumber = cardNumber;
     }
 
     /**
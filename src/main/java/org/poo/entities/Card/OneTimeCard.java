@@ -1,5 +1,7 @@
 package org.poo.entities.Card;
 
+import org.poo.utils.StringRegistry;
+
 /**
  * Represents a One-Time Card, a specific type of card that is valid for a single transaction.
  */
@@ -8,22 +10,29 @@ public class OneTimeCard extends Card {
     /**
      * Constructor to initialize a OneTimeCard.
      *
+     * @param cardNumber The number of the card.
      * @param accountIban The IBAN associated with the account.
      * @param ownerEmail The email address of the card's owner.
+     * @param strings The string pool of the bank.
      */
-    public OneTimeCard(final String accountIban, final String ownerEmail) {
-        super(accountIban, ownerEmail, CardType.ONE_TIME); // Cardul va avea tipul ONE_TIME
+    public OneTimeCard(final String cardNumber, final String accountIban,
+                       final String ownerEmail, final StringRegistry strings) {
+        // Cardul va avea tipul ONE_TIME
+        super(cardNumber, accountIban, ownerEmail, CardType.ONE_TIME, strings);
     }
 
     /**
-     * Regenerates a new OneTimeCard with the given account IBAN and owner email.
+     * Regenerates a new OneTimeCard with the given number, account IBAN and owner email.
      *
+     * @param cardNumber The number of the new card.
      * @param accountIban The IBAN associated with the account.
      * @param ownerEmail The email address of the card's owner.
+     * @param strings The string pool of the bank.
      * @return A new instance of OneTimeCard.
      */
-    public static OneTimeCard regenerate(final String accountIban, final String ownerEmail) {
-        return new OneTimeCard(accountIban, ownerEmail);
+    public static OneTimeCard regenerate(final String cardNumber, final String accountIban,
+                                         final String ownerEmail, final StringRegistry strings) {
+        return new OneTimeCard(cardNumber, accountIban, ownerEmail, strings);
     }
 
     /**
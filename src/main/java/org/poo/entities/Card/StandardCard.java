@@ -1,19 +1,24 @@
 package org.poo.entities.Card;
 
+import org.poo.utils.StringRegistry;
+
 /**
  * Represents a Standard Card, a typical type of card with a basic set of features.
  */
 public class StandardCard extends Card {
 
     /**
-     * Constructor to initialize a StandardCard with account IBAN and owner email.
+     * Constructor to initialize a StandardCard with its number, account IBAN and owner email.
      *
+     * @param cardNumber The number of the card.
      * @param accountIban The IBAN associated with the account.
      * @param ownerEmail The email address of the card's owner.
+     * @param strings The string pool of the bank.
      */
-    public StandardCard(final String accountIban, final String ownerEmail) {
+    public StandardCard(final String cardNumber, final String accountIban,
+                        final String ownerEmail, final StringRegistry strings) {
         // Creăm un card de tip Standard
-        super(accountIban, ownerEmail, CardType.CLASSIC); // Cardul va avea tipul STANDARD
+        super(cardNumber, accountIban, ownerEmail, CardType.CLASSIC, strings);
     }
 
     /**
@@ -1,5 +1,7 @@
 package org.poo.entities.Commerciants;
 
+import org.poo.utils.StringRegistry;
+
 /**
  * Entity class representing a commerciant in the system.
  * A commerciant has an ID, name, account details, type, and cashback strategy.
@@ -18,8 +20,9 @@ public class Commerciant {
     public Commerciant() {
     }
 
-    public Commerciant(final String name, final CashbackType cashbackStrategy, final String type) {
-        this.name = name;
+    public Commerciant(final String name, final CashbackType cashbackStrategy, final String type,
+                       final StringRegistry strings) {
+        this.name = strings.intern(name);
         this.cashbackStrategy = cashbackStrategy;
         this.type = type;
         this.id = 0;
@@ -34,12 +37,14 @@ public class Commerciant {
      * @param account the account details of the commerciant.
      * @param type the type of the commerciant (e.g., Tech, Clothes).
      * @param cashbackStrategy the cashback strategy used by the commerciant.
+     * @param strings the string pool of the bank.
      */
     public Commerciant(final int id, final String name, final String account,
-                       final String type, final CashbackType cashbackStrategy) {
+                       final String type, final CashbackType cashbackStrategy,
+                       final StringRegistry strings) {
         this.id = id;
-        this.name = name;
-        this.account = account;
+        this.name = strings.intern(name);
+        this.account = strings.intern(account);
         this.type = type;
         this.cashbackStrategy = cashbackStrategy;
     }
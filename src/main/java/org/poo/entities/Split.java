@@ -3,6 +3,7 @@ package org.poo.entities;
 import java.util.List;
 import java.util.ArrayList;
 import org.poo.entities.Account.Account;
+import org.poo.utils.CurrencyRegistry;
 
 /**
  * Represents a financial split between multiple accounts.
@@ -11,10 +12,12 @@ public class Split {
     private final List<Account> accounts;
     private final List<Boolean> acceptedSplit;
     private final double amount;
-    private final String currency;
+    private final int currencyId;
     private final int timestamp;
     private final String splitPaymentType;
     private final List<Double> amountForUsers;
+    private final List<Transaction> transactions;
+    private final CurrencyRegistry currencies;
 
     /**
      * Constructor for creating a Split instance.
@@ -25,17 +28,20 @@ public class Split {
      * @param timestamp The timestamp of the split.
      * @param splitPaymentType The type of the split payment.
      * @param amountForUsers The individual amounts allocated for each user.
+     * @param currencies The currency ids of the bank.
      */
     public Split(final List<Account> accounts, final double amount,
                  final String currency, final int timestamp, final String splitPaymentType,
-                 final List<Double> amountForUsers) {
+                 final List<Double> amountForUsers, final CurrencyRegistry currencies) {
         this.accounts = accounts;
         this.amount = amount;
-        this.currency = currency;
+        this.currencies = currencies;
+        this.currencyId = currencies.idOf(currency);
         this.timestamp = timestamp;
         this.splitPaymentType = splitPaymentType;
         this.amountForUsers = amountForUsers;
         this.acceptedSplit = new ArrayList<>();
+        this.transactions = new ArrayList<>();
 
         // Initialize acceptedSplit with false
         for (int i = 0; i < accounts.size(); i++) {
@@ -67,7 +73,16 @@ public class Split {
      * @return The currency.
      */
     public String getCurrency() {
-        return currency;
+        return currencies.codeOf(currencyId);
+    }
+
+    /**
+     * Retrieves the interned id of the split's currency.
+     *
+     * @return The currency id.
+     */
+    public int getCurrencyId() {
+        return currencyId;
     }
 
     /**
@@ -97,6 +112,24 @@ public class Split {
         return amountForUsers;
     }
 
+    /**
+     * Links a transaction recorded for this split.
+     *
+     * @param transaction The transaction created by the split payment.
+     */
+    public void addTransaction(final Transaction transaction) {
+        transactions.add(transaction);
+    }
+
+    /**
+     * Retrieves the transactions recorded for this split.
+     *
+     * @return A list of the split's transactions.
+     */
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
     /**
      * Retrieves the list of acceptance statuses for the split.
      *
@@ -1,219 +1,288 @@
 package org.poo.entities;
 
+import org.poo.repository.TransactionStore;
+import org.poo.utils.Money;
+import org.poo.utils.TransactionIds;
+
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Represents a financial transaction, which can be processed in a payment system.
+ * A transaction is a flyweight view over one row of a {@link TransactionStore}.
+ * Creating a transaction appends its row to the given store;
+ * views over rows already in a store are created on read.
  */
 public final class Transaction {
+    private static final String UNSET_ERROR = "nesetat";
+
+    private final TransactionStore store;
+    private final int row;
 
-    private String email;
-    private String id;
-    private String fromAccount;
-    private String toAccount;
-    private double amount;
-    private String currency;
-    private int timestamp;
-    private String description;
-    private TransactionType type;
-    private String cardNumber;
-    private String commerciant;
-    private String error = "nesetat";
-    private List<String> involvedAccounts;
-    private double totalAmount;
-    private TransactionStatus status;
-    private List<Double> amountForUsers;
-    private boolean isSpending = false;
-    private boolean isDeposit = false;
-    private String splitPaymentType;
+    /**
+     * Views a row already held by a store.
+     *
+     * @param store the store holding the row.
+     * @param row   the row.
+     */
+    public Transaction(final TransactionStore store, final int row) {
+        this.store = store;
+        this.row = row;
+    }
 
     // Constructor
-    public Transaction(final String email, final String fromAccount, final String toAccount,
+    public Transaction(final TransactionStore store,
+                       final String email, final String fromAccount, final String toAccount,
                        final double amount, final String currency, final int timestamp,
                        final String description, final TransactionStatus status) {
-        this(email, fromAccount, toAccount, amount, currency, timestamp, description,
+        this(store, email, fromAccount, toAccount, amount, currency, timestamp, description,
                 TransactionType.SEND_MONEY, null, null, status);
     }
 
     // Constructor for complex transactions
-    public Transaction(final String email, final int timestamp, final String description,
+    public Transaction(final TransactionStore store, final String email, final int timestamp,
+                       final TransactionDescription description,
                        final double totalAmount, final String currency, final double amount,
                        final List<String> involvedAccounts, final TransactionType type) {
-        this.email = email;
-        this.timestamp = timestamp;
-        this.description = description;
-        this.totalAmount = totalAmount;
-        this.currency = currency;
-        this.amount = amount;
-        this.involvedAccounts = involvedAccounts;
-        this.type = type;
-        this.id = UUID.randomUUID().toString();  // Generate unique ID
+        this.store = store;
+        this.row = newRow(store, email, currency, timestamp, null, type);
+        store.setDescription(row, description);
+        store.setDescriptionArgument(row, totalAmount);
+        store.setTotalAmount(row, totalAmount);
+        store.setAmount(row, Money.ofUnits(amount));
+        store.setInvolvedAccounts(row, involvedAccounts);
     }
 
     // General constructor for custom use cases
-    public Transaction(final String email, final String fromAccount, final String toAccount,
+    public Transaction(final TransactionStore store,
+                       final String email, final String fromAccount, final String toAccount,
                        final double amount, final String currency, final int timestamp,
                        final String description, final TransactionType type,
                        final String cardNumber, final String commerciant,
                        final TransactionStatus status) {
-        this.email = email;
-        this.id = UUID.randomUUID().toString();  // Generate unique ID
-        this.fromAccount = fromAccount;
-        this.toAccount = toAccount;
-        this.amount = amount;
-        this.currency = currency;
-        this.timestamp = timestamp;
-        this.description = description;
-        this.type = type;
-        this.cardNumber = cardNumber;
-        this.commerciant = commerciant;
-        this.status = status;
-    }
-
-    public Transaction(final String email, final String fromAccount, final String toAccount,
+        this.store = store;
+        this.row = newRow(store, email, currency, timestamp, description, type);
+        store.setFromAccount(row, fromAccount);
+        store.setToAccount(row, toAccount);
+        store.setAmount(row, Money.ofUnits(amount));
+        store.setCardNumber(row, cardNumber);
+        store.setCommerciant(row, commerciant);
+        store.setStatus(row, status);
+    }
+
+    // General constructor for descriptions the bank writes itself
+    public Transaction(final TransactionStore store,
+                       final String email, final String fromAccount, final String toAccount,
+                       final double amount, final String currency, final int timestamp,
+                       final TransactionDescription description, final TransactionType type,
+                       final String cardNumber, final String commerciant,
+                       final TransactionStatus status) {
+        this(store, email, fromAccount, toAccount, amount, currency, timestamp, (String) null,
+                type, cardNumber, commerciant, status);
+        store.setDescription(row, description);
+    }
+
+    public Transaction(final TransactionStore store,
+                       final String email, final String fromAccount, final String toAccount,
                        final double amount, final String currency, final int timestamp,
                        final String description, final TransactionType type,
                        final TransactionStatus status) {
-        this(email, fromAccount, toAccount, amount, currency, timestamp,
+        this(store, email, fromAccount, toAccount, amount, currency, timestamp,
                 description, type, null, null, status);
     }
 
     // Constructor specific pentru tranzacții de tip split
-        public Transaction(final String email,
+        public Transaction(final TransactionStore store,
+                         final String email,
                          final List<Double> amountForUsers,
                        final double totalAmount,
                        final String currency,
-                       final String description,
+                       final TransactionDescription description,
                        final List<String> involvedAccounts,
                        final String splitPaymentType,
                         final TransactionType type,
                        final int timestamp) {
-        this.email = email;
-        this.totalAmount = totalAmount;
-        this.amount = 0.0; // Suma individuală poate fi setată separat
-        this.currency = currency;
-        this.description = description;
-        this.involvedAccounts = involvedAccounts;
-        this.amountForUsers = amountForUsers;
-        this.splitPaymentType = splitPaymentType;
-        this.type = type;
-        this.timestamp = timestamp;
-        this.status = null;
+        this.store = store;
+        this.row = newRow(store, email, currency, timestamp, null, type);
+        store.setDescription(row, description);
+        store.setDescriptionArgument(row, totalAmount);
+        store.setTotalAmount(row, totalAmount);
+        store.setInvolvedAccounts(row, involvedAccounts);
+        store.setAmountForUsers(row, amountForUsers);
+        store.setSplitPaymentType(row, splitPaymentType);
+    }
+
+    /**
+     * Appends the row of a new transaction to a store.
+     *
+     * @param store       the store to append to.
+     * @param email       the email of the user.
+     * @param currency    the currency of the amounts.
+     * @param timestamp   the timestamp of the transaction.
+     * @param description the description.
+     * @param type        the type of the transaction.
+     * @return the new row.
+     */
+    private static int newRow(final TransactionStore store, final String email,
+                              final String currency, final int timestamp,
+                              final String description, final TransactionType type) {
+        final int row = store.newRow();
+        store.setId(row, TransactionIds.next());
+        store.setEmail(row, email);
+        store.setCurrency(row, currency);
+        store.setTimestamp(row, timestamp);
+        store.setDescription(row, description);
+        store.setType(row, type);
+        store.setError(row, UNSET_ERROR);
+        return row;
+    }
+
+    /**
+     * @return the store holding the transaction's row.
+     */
+    public TransactionStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return the transaction's row in its store.
+     */
+    public int getRow() {
+        return row;
     }
 
-
     // Getters and Setters
     public String getEmail() {
-        return email;
+        return store.getEmail(row);
     }
 
-    public String getId() {
-        return id;
+    public long getId() {
+        return store.getId(row);
     }
 
     public String getFromAccount() {
-        return fromAccount;
+        return store.getFromAccount(row);
     }
 
     public String getToAccount() {
-        return toAccount;
+        return store.getToAccount(row);
     }
 
     public double getAmount() {
-        return amount;
+        return Money.toUnits(store.getAmount(row));
+    }
+
+    public long getAmountMinorUnits() {
+        return store.getAmount(row);
     }
 
     public String getCurrency() {
-        return currency;
+        return store.getCurrency(row);
+    }
+
+    public int getCurrencyId() {
+        return store.getCurrencyId(row);
     }
 
     public int getTimestamp() {
-        return timestamp;
+        return store.getTimestamp(row);
     }
 
     public String getDescription() {
-        return description;
+        return store.getDescription(row);
+    }
+
+    public TransactionDescription getDescriptionCode() {
+        return store.getDescriptionCode(row);
+    }
+
+    /**
+     * Sets the number a description written by the bank quotes,
+     * such as the amount of a cash withdrawal.
+     *
+     * @param argument the number.
+     */
+    public void setDescriptionArgument(final double argument) {
+        store.setDescriptionArgument(row, argument);
     }
 
     public TransactionType getType() {
-        return type;
+        return store.getType(row);
     }
 
     public String getCardNumber() {
-        return cardNumber;
+        return store.getCardNumber(row);
     }
 
     public String getCommerciant() {
-        return commerciant;
+        return store.getCommerciant(row);
     }
 
     public String getError() {
-        return error;
+        return store.getError(row);
     }
 
     public List<String> getInvolvedAccounts() {
-        return involvedAccounts;
+        return store.getInvolvedAccounts(row);
     }
 
     public double getTotalAmount() {
-        return totalAmount;
+        return store.getTotalAmount(row);
     }
 
     public TransactionStatus getStatus() {
-        return status;
+        return store.getStatus(row);
     }
 
     public boolean isSpending() {
-        return isSpending;
+        return store.isSpending(row);
     }
 
     public boolean isDeposit() {
-        return isDeposit;
+        return store.isDeposit(row);
     }
 
     public void setSpending(final boolean spending) {
-        this.isSpending = spending;
+        store.setSpending(row, spending);
     }
 
     public void setDeposit(final boolean deposit) {
-        this.isDeposit = deposit;
+        store.setDeposit(row, deposit);
     }
 
     public void setStatus(final TransactionStatus status) {
-        this.status = status;
+        store.setStatus(row, status);
     }
 
     public void setError(final String error) {
-        this.error = error;
+        store.setError(row, error);
     }
 
     public void setInvolvedAccounts(final List<String> involvedAccounts) {
-        this.involvedAccounts = involvedAccounts;
+        store.setInvolvedAccounts(row, involvedAccounts);
     }
 
     public void setTotalAmount(final double totalAmount) {
-        this.totalAmount = totalAmount;
+        store.setTotalAmount(row, totalAmount);
     }
 
     public List<Double> getAmountForUsers() {
-        return amountForUsers;
+        return store.getAmountForUsers(row);
     }
 
     public void setTimestamp(final int timestamp) {
-        this.timestamp = timestamp;
+        store.setTimestamp(row, timestamp);
     }
 
     public void setAmount(final double amount) {
-        this.amount = amount;
+        store.setAmount(row, Money.ofUnits(amount));
     }
 
     public void setSplitPaymentType(final String splitPaymentType) {
-        this.splitPaymentType = splitPaymentType;
+        store.setSplitPaymentType(row, splitPaymentType);
     }
 
     public String getSplitPaymentType() {
-        return splitPaymentType;
+        return store.getSplitPaymentType(row);
     }
 
 }
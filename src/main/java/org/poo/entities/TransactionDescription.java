@@ -0,0 +1,89 @@
+package org.poo.entities;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The descriptions the bank itself writes on transactions.
+ * A transaction stores only the constant, plus one number for the
+ * descriptions that quote one, and the text is rendered when it is read;
+ * descriptions typed in by users are stored as text instead.
+ */
+public enum TransactionDescription {
+    ADD_FUNDS("Add funds"),
+    AUTOMATIC_UPGRADE("Automatic upgrade to Gold"),
+    CARD_DESTROYED("The card has been destroyed"),
+    CARD_FROZEN("The card is frozen"),
+    CARD_PAYMENT("Card payment"),
+    FUNDS_REMAINING("Account couldn't be deleted - there are funds remaining"),
+    INSUFFICIENT_FUNDS("Insufficient funds"),
+    INTEREST_RATE_INCOME("Interest rate income"),
+    MINIMUM_AGE_REQUIRED("You don't have the minimum age required."),
+    MINIMUM_FUNDS_REACHED("You have reached the minimum amount of funds, the card will be frozen"),
+    NEW_ACCOUNT_CREATED("New account created"),
+    NEW_CARD_CREATED("New card created"),
+    NO_CLASSIC_ACCOUNT("You do not have a classic account."),
+    UPGRADE_PLAN("Upgrade plan"),
+
+    /**
+     * Quotes the total of the split, with two decimals, and its currency.
+     */
+    SPLIT_PAYMENT("Split payment of ") {
+        @Override
+        public String render(final double argument, final String currency) {
+            return getText() + twoDecimals(argument) + " " + currency;
+        }
+    },
+
+    /**
+     * Quotes the amount withdrawn.
+     */
+    CASH_WITHDRAWAL("Cash withdrawal of ") {
+        @Override
+        public String render(final double argument, final String currency) {
+            return getText() + argument;
+        }
+    },
+
+    /**
+     * Quotes the new interest rate.
+     */
+    INTEREST_RATE_CHANGED("Interest rate of the account changed to ") {
+        @Override
+        public String render(final double argument, final String currency) {
+            return getText() + argument;
+        }
+    };
+
+    private final String text;
+
+    TransactionDescription(final String text) {
+        this.text = text;
+    }
+
+    /**
+     * @return the fixed part of the description.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Renders the description of a transaction.
+     *
+     * @param argument the number the description quotes, if any.
+     * @param currency the currency of the transaction.
+     * @return the description.
+     */
+    public String render(final double argument, final String currency) {
+        return text;
+    }
+
+    /**
+     * Formats an amount like a "0.00" {@link java.text.DecimalFormat} does,
+     * without sharing a formatter between threads.
+     */
+    private static String twoDecimals(final double amount) {
+        return new BigDecimal(amount).setScale(2, RoundingMode.HALF_EVEN).toPlainString();
+    }
+}
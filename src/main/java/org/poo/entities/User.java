@@ -2,6 +2,7 @@ package org.poo.entities;
 
 import org.poo.entities.Account.Account;
 import org.poo.entities.Card.Card;
+import org.poo.utils.StringRegistry;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,13 +29,14 @@ public final class User {
      * @param email      the email of the user.
      * @param birthDate  the birth date of the user.
      * @param occupation the occupation of the user.
+     * @param strings    the string pool of the bank.
      */
     public User(final String firstName, final String lastName,
                 final String email, final String birthDate,
-                final String occupation) {
+                final String occupation, final StringRegistry strings) {
         this.firstName = firstName;
         this.lastName = lastName;
-        this.email = email;
+        this.email = strings.intern(email);
         this.birthDate = birthDate;
         this.occupation = occupation;
         this.plan = occupation.equals("student") ? "student" : "standard";
@@ -1,5 +1,7 @@
 package org.poo.entities.accountAlias;
 
+import org.poo.utils.StringRegistry;
+
 import java.util.Objects;
 
 /**
@@ -18,11 +20,13 @@ public class Alias {
      * @param aliasName the alias name
      * @param accountIBAN the IBAN of the associated account
      * @param userEmail the email of the user associated with this alias
+     * @param strings the string pool of the bank
      */
-    public Alias(final String aliasName, final String accountIBAN, final String userEmail) {
-        this.aliasName = aliasName;
-        this.accountIBAN = accountIBAN;
-        this.userEmail = userEmail;
+    public Alias(final String aliasName, final String accountIBAN, final String userEmail,
+                 final StringRegistry strings) {
+        this.aliasName = strings.intern(aliasName);
+        this.accountIBAN = strings.intern(accountIBAN);
+        this.userEmail = strings.intern(userEmail);
     }
 
     // Getters and Setters with final parameters
@@ -1,22 +1,32 @@
 package org.poo.entities.spendings;
 
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.Money;
+import org.poo.utils.StringRegistry;
+
 public final class Spending {
     private String email;
     private String commerciantName;
-    private double totalAmount;
+    private long totalAmount; // in Money minor units
     private int timestamp;
     private String iban;
-    private String currency; // Adăugat pentru conversie
+    private int currencyId; // Adăugat pentru conversie
+    private long accountAmount; // Suma in moneda contului, in Money minor units
+    private final CurrencyRegistry currencies;
 
     // Constructor
     public Spending(final String email, final String commerciantName, final double totalAmount,
-                    final int timestamp, final String iban, final String currency) {
-        this.email = email;
-        this.commerciantName = commerciantName;
-        this.totalAmount = totalAmount;
+                    final int timestamp, final String iban, final String currency,
+                    final double accountAmount, final StringRegistry strings,
+                    final CurrencyRegistry currencies) {
+        this.currencies = currencies;
+        this.email = strings.intern(email);
+        this.commerciantName = strings.intern(commerciantName);
+        this.totalAmount = Money.ofUnits(totalAmount);
         this.timestamp = timestamp;
-        this.iban = iban;
-        this.currency = currency; // Inițializat
+        this.iban = strings.intern(iban);
+        this.currencyId = currencies.idOf(currency); // Inițializat
+        this.accountAmount = Money.ofUnits(accountAmount);
     }
 
     public String getEmail() {
@@ -32,11 +42,11 @@ public final class Spending {
     }
 
     public double getTotalAmount() {
-        return totalAmount;
+        return Money.toUnits(totalAmount);
     }
 
     public void setTotalAmount(final double totalAmount) {
-        this.totalAmount = totalAmount;
+        this.totalAmount = Money.ofUnits(totalAmount);
     }
 
     public int getLastTimestamp() {
@@ -48,11 +58,23 @@ public final class Spending {
     }
 
     public String getCurrency() {
-        return currency; // Getter pentru currency
+        return currencies.codeOf(currencyId); // Getter pentru currency
+    }
+
+    public int getCurrencyId() {
+        return currencyId;
     }
 
     public void setCurrency(final String currency) {
-        this.currency = currency; // Setter pentru currency
+        this.currencyId = currencies.idOf(currency); // Setter pentru currency
+    }
+
+    public double getAccountAmount() {
+        return Money.toUnits(accountAmount);
+    }
+
+    public long getAccountAmountMinorUnits() {
+        return accountAmount;
     }
 
     @Override
@@ -60,10 +82,11 @@ public final class Spending {
         return "Spending{"
                 + "email='" + email + '\''
                 + ", commerciantName='" + commerciantName + '\''
-                + ", totalAmount=" + totalAmount
+                + ", totalAmount=" + getTotalAmount()
                 + ", timestamp=" + timestamp
                 + ", iban='" + iban + '\''
-                + ", currency='" + currency + '\''
+                + ", currency='" + getCurrency() + '\''
+                + ", accountAmount=" + getAccountAmount()
                 + '}';
     }
 }
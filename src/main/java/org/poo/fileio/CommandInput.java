@@ -1,5 +1,6 @@
 package org.poo.fileio;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -9,6 +10,9 @@ import java.util.List;
 @NoArgsConstructor
 public final class CommandInput {
     private String command;
+    // Slot of the command in the dispatch table, -1 until the executor resolves the name
+    @JsonIgnore
+    private int handlerId = -1;
     private String email;
     private String account;
     private String newPlanType;
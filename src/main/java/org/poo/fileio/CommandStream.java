@@ -0,0 +1,176 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads an input file with Jackson's streaming parser instead of building
+ * the whole {@link ObjectInput} at once. The users, exchange rates and
+ * commerciants are read up front; the commands are then parsed one at a
+ * time as they are pulled, so memory stays flat however many commands the
+ * file holds. As in the checker's files, the other sections have to come
+ * before "commands".
+ */
+public final class CommandStream implements Iterator<CommandInput>, Closeable {
+    /**
+     * System property naming how input files are read ("tree" or "streaming").
+     */
+    public static final String PROPERTY = "bank.input";
+    public static final String TREE = "tree";
+    public static final String STREAMING = "streaming";
+
+    private static final String USERS = "users";
+    private static final String EXCHANGE_RATES = "exchangeRates";
+    private static final String COMMERCIANTS = "commerciants";
+    private static final String COMMANDS = "commands";
+
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+    private final ObjectInput header;
+    private boolean inCommands;
+    private CommandInput next;
+
+    /**
+     * Opens a file and reads everything before its commands.
+     *
+     * @param mapper the mapper used to bind the sections.
+     * @param file   the input file.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a JSON object.
+     */
+    public CommandStream(final ObjectMapper mapper, final File file) throws IOException {
+        this.mapper = mapper;
+        this.parser = mapper.getFactory().createParser(file);
+        this.header = new ObjectInput();
+
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Input is not a JSON object: " + file);
+            }
+            readSections(false);
+            advance();
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Tells whether the {@value #PROPERTY} system property selects streaming.
+     *
+     * @return true for streaming, false (the default) for reading the whole tree.
+     * @throws IllegalArgumentException if the property names an unknown mode.
+     */
+    public static boolean isConfigured() {
+        final String mode = System.getProperty(PROPERTY, TREE);
+        switch (mode) {
+            case TREE:
+                return false;
+            case STREAMING:
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown input mode: " + mode);
+        }
+    }
+
+    /**
+     * @return the users, exchange rates and commerciants of the file;
+     *         its commands are left to this stream.
+     */
+    public ObjectInput getHeader() {
+        return header;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public CommandInput next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        final CommandInput current = next;
+        try {
+            advance();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return current;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /**
+     * Reads the top-level fields until the commands start or the object ends.
+     *
+     * @param afterCommands whether the commands were already read; sections
+     *                      found then come too late and are rejected.
+     */
+    private void readSections(final boolean afterCommands) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case USERS:
+                    checkBeforeCommands(name, afterCommands);
+                    header.setUsers(mapper.readValue(parser, UserInput[].class));
+                    break;
+                case EXCHANGE_RATES:
+                    checkBeforeCommands(name, afterCommands);
+                    header.setExchangeRates(mapper.readValue(parser, ExchangeInput[].class));
+                    break;
+                case COMMERCIANTS:
+                    checkBeforeCommands(name, afterCommands);
+                    header.setCommerciants(mapper.readValue(parser, CommerciantInput[].class));
+                    break;
+                case COMMANDS:
+                    checkBeforeCommands(name, afterCommands);
+                    if (parser.currentToken() == JsonToken.START_ARRAY) {
+                        inCommands = true;
+                        return;
+                    }
+                    parser.skipChildren();
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+    }
+
+    private static void checkBeforeCommands(final String name, final boolean afterCommands) {
+        if (afterCommands) {
+            throw new IllegalArgumentException("Section \"" + name
+                    + "\" must come before \"" + COMMANDS + "\" to be streamed");
+        }
+    }
+
+    /**
+     * Parses the next command, or leaves none once the commands are over.
+     */
+    private void advance() throws IOException {
+        next = null;
+        if (!inCommands) {
+            return;
+        }
+        if (parser.nextToken() == JsonToken.END_ARRAY) {
+            inCommands = false;
+            readSections(true);
+            return;
+        }
+        next = mapper.readValue(parser, CommandInput.class);
+    }
+}
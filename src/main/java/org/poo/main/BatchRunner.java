@@ -0,0 +1,164 @@
+package org.poo.main;
+
+import org.poo.checker.Checker;
+import org.poo.checker.CheckerConstants;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs many input files at once on a bounded pool of threads. Every file
+ * runs in a bank of its own (see {@link org.poo.services.BankContext}) and
+ * writes its own output file, so each output is exactly what a run of that
+ * file alone produces, whatever the order the files finish in.
+ */
+public final class BatchRunner {
+    /**
+     * System property with the number of files to run at once; defaults
+     * to the number of available processors.
+     */
+    public static final String THREADS_PROPERTY = "bank.threads";
+
+    private final int threads;
+
+    /**
+     * @param threads the number of files to run at once.
+     * @throws IllegalArgumentException if threads is not positive.
+     */
+    public BatchRunner(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid number of threads: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Creates a runner with the number of threads named by the
+     * {@value #THREADS_PROPERTY} system property.
+     *
+     * @return the configured runner.
+     * @throws IllegalArgumentException if the property is not a positive number.
+     */
+    public static BatchRunner fromConfiguration() {
+        final String value = System.getProperty(THREADS_PROPERTY,
+                String.valueOf(Runtime.getRuntime().availableProcessors()));
+        try {
+            return new BatchRunner(Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number of threads: " + value, e);
+        }
+    }
+
+    /**
+     * Same as {@link Main#main}, with the tests run concurrently.
+     *
+     * @param args from command line
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        File directory = new File(CheckerConstants.TESTS_PATH);
+        Path path = Paths.get(CheckerConstants.RESULT_PATH);
+
+        if (Files.exists(path)) {
+            File resultFile = new File(String.valueOf(path));
+            for (File file : Objects.requireNonNull(resultFile.listFiles())) {
+                file.delete();
+            }
+            resultFile.delete();
+        }
+        Files.createDirectories(path);
+
+        var sortedFiles = Arrays.stream(Objects.requireNonNull(directory.listFiles()))
+                .sorted(Comparator.comparingInt(Main::fileConsumer))
+                .toList();
+
+        List<String> inputs = new ArrayList<>();
+        for (File file : sortedFiles) {
+            File out = new File(CheckerConstants.OUT_PATH + file.getName());
+            if (out.createNewFile()) {
+                inputs.add(file.getName());
+            }
+        }
+        fromConfiguration().run(inputs);
+
+        Checker.calculateScore();
+    }
+
+    /**
+     * Runs input files from {@link CheckerConstants#TESTS_PATH}, each
+     * writing to its file under {@link CheckerConstants#OUT_PATH}, and
+     * waits for all of them.
+     *
+     * @param inputs the names of the input files.
+     * @throws IOException if a file cannot be read or written; the other
+     *                     files still run to the end.
+     */
+    public void run(final List<String> inputs) throws IOException {
+        if (inputs.isEmpty()) {
+            return;
+        }
+
+        final ExecutorService pool = Executors.newFixedThreadPool(
+                Math.min(threads, inputs.size()));
+        final List<Future<?>> runs = new ArrayList<>();
+        try {
+            for (final String input : inputs) {
+                final String output = CheckerConstants.OUT_PATH + input;
+                runs.add(pool.submit(() -> {
+                    Main.action(input, output);
+                    return null;
+                }));
+            }
+            awaitAll(inputs, runs);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for every run and reports the first failure, in input order.
+     */
+    private static void awaitAll(final List<String> inputs,
+                                 final List<Future<?>> runs) throws IOException {
+        Throwable failure = null;
+        String failedInput = null;
+        for (int i = 0; i < runs.size(); i++) {
+            try {
+                runs.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running " + inputs.get(i), e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                    failedInput = inputs.get(i);
+                }
+            }
+        }
+
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Failed to run " + failedInput, failure);
+        }
+    }
+}
@@ -1,122 +1,52 @@
 package org.poo.main;
 
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import org.poo.commands.Command;
-import org.poo.commands.CommandFactory;
+import org.poo.commands.CommandTable;
+import org.poo.commands.ExecutionContext;
+import org.poo.entities.ExchangeRate;
+import org.poo.fileio.CommandInput;
 import org.poo.fileio.ExchangeInput;
 import org.poo.fileio.ObjectInput;
 import org.poo.fileio.UserInput;
 import org.poo.fileio.CommerciantInput;
-import org.poo.repository.AccountRepository;
-import org.poo.repository.AliasRepository;
-import org.poo.repository.CommerciantsRepository;
-import org.poo.repository.SpendingsRepository;
-import org.poo.repository.TransactionRepository;
-import org.poo.repository.UserRepository;
-import org.poo.repository.CardRepository;
-import org.poo.services.AccountService;
-import org.poo.services.AliasService;
-import org.poo.services.CardService;
-import org.poo.services.CommerciantsService;
-import org.poo.services.TransactionService;
-import org.poo.services.UserService;
+import org.poo.output.JsonOutput;
 import org.poo.services.ExchangeService;
-import org.poo.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 public class CommandExecutor {
     private final ObjectInput inputData;
-    private final ArrayNode output;
-    private final CommandFactory commandFactory;
-
-    private UserService userService;
-    private AccountService accountService;
-    private CardService cardService;
-    private AliasService aliasService;
-    private TransactionService transactionService;
-    private CommerciantsService commerciantsService;
+    private final ExecutionContext context;
 
     /**
      * Main constructor of CommandExecutor class.
      *
      * @param inputData Data input.
-     * @param output    Command execution results.
-     * @param commandFactory Command factory.
-     * @param userRepository User repository.
-     * @param accountRepository Account repository.
-     * @param transactionRepository Transaction repository.
-     * @param cardRepository Card repository.
-     * @param aliasRepository Alias repository.
-     * @param spendingsRepository Spendings repository.
-     * @param commerciantsRepository Commerciants repository.
+     * @param context   Repositories, services and output of the run.
      */
-    public CommandExecutor(final ObjectInput inputData, final ArrayNode output,
-                           final CommandFactory commandFactory,
-                           final UserRepository userRepository,
-                           final AccountRepository accountRepository,
-                           final TransactionRepository transactionRepository,
-                           final CardRepository cardRepository,
-                           final AliasRepository aliasRepository,
-                           final SpendingsRepository spendingsRepository,
-                           final CommerciantsRepository commerciantsRepository) {
+    public CommandExecutor(final ObjectInput inputData, final ExecutionContext context) {
         this.inputData = inputData;
-        this.output = output;
-        this.commandFactory = commandFactory;
-
-        // Initialize services using the provided repositories
-        this.userService = new UserService(userRepository);
-        this.accountService = new AccountService(accountRepository,
-                transactionRepository, userRepository,
-                cardRepository, aliasRepository);
-        this.cardService = new CardService(accountRepository, cardRepository, userRepository,
-                transactionRepository, spendingsRepository);
-        this.aliasService = new AliasService(aliasRepository);
-        this.transactionService = new TransactionService(transactionRepository);
-        this.commerciantsService = new CommerciantsService(commerciantsRepository);
-
-        // Configure CommandFactory with services
-        commandFactory.setServices(userService, accountService, cardService, aliasService,
-                transactionService, commerciantsService);
+        this.context = context;
 
         initializeUsers();
         initializeCommerciants();
         initializeExchangeRates();
     }
 
-    /**
-     * Initializes all required services and repositories.
-     */
-    private void initializeServices() {
-        // Initialize repositories
-        final UserRepository userRepository = new UserRepository();
-        final AccountRepository accountRepository = new AccountRepository();
-        final TransactionRepository transactionRepository = new TransactionRepository();
-        final CardRepository cardRepository = new CardRepository();
-        final AliasRepository aliasRepository = new AliasRepository();
-        final SpendingsRepository spendingsRepository = new SpendingsRepository();
-
-        // Initialize services with repositories
-        this.userService = new UserService(userRepository);
-        this.accountService = new AccountService(accountRepository, transactionRepository,
-                userRepository, cardRepository, aliasRepository);
-        this.cardService = new CardService(accountRepository, cardRepository, userRepository,
-                transactionRepository, spendingsRepository);
-        this.aliasService = new AliasService(aliasRepository);
-        this.transactionService = new TransactionService(transactionRepository);
-    }
-
     /**
      * Adds users from input data to the system.
      */
     private void initializeUsers() {
         for (final UserInput userInput : inputData.getUsers()) {
-            userService.addUser(userInput.getFirstName(),
+            context.getUserService().addUser(userInput.getFirstName(),
                     userInput.getLastName(),
                     userInput.getEmail(),
                     userInput.getBirthDate(),
                     userInput.getOccupation());
-            Utils.resetRandom();
+            context.getBank().getNumbers().reset();
         }
     }
 
@@ -125,7 +55,7 @@ public class CommandExecutor {
      */
     private void initializeCommerciants() {
         for (final CommerciantInput commerciantInput : inputData.getCommerciants()) {
-            commerciantsService.addCommerciant(commerciantInput.getCommerciant(),
+            context.getCommerciantsService().addCommerciant(commerciantInput.getCommerciant(),
                     commerciantInput.getId(),
                     commerciantInput.getAccount(),
                     commerciantInput.getType(),
@@ -137,13 +67,16 @@ public class CommandExecutor {
      * Adds exchange rates from input data to the system.
      */
     private void initializeExchangeRates() {
-        ExchangeService.getInstance().resetInstance();
+        final ExchangeService exchangeService = context.getBank().getExchangeService();
 
         if (inputData.getExchangeRates() != null) {
+            // Published as one batch, so the conversion table is built once
+            final List<ExchangeRate> rates = new ArrayList<>();
             for (final ExchangeInput exchangeInput : inputData.getExchangeRates()) {
-                ExchangeService.getInstance().addExchangeRate(exchangeInput.getFrom(),
-                        exchangeInput.getTo(), exchangeInput.getRate());
+                rates.add(new ExchangeRate(exchangeInput.getFrom(),
+                        exchangeInput.getTo(), exchangeInput.getRate()));
             }
+            exchangeService.addExchangeRates(rates);
         }
     }
 
@@ -151,12 +84,24 @@ public class CommandExecutor {
      * Executes all commands from the input data.
      */
     public void executeCommands() {
-        for (final var commandInput : inputData.getCommands()) {
+        executeCommands(Arrays.asList(inputData.getCommands()).iterator());
+    }
+
+    /**
+     * Executes commands as they are pulled from a source, such as a
+     * {@link org.poo.fileio.CommandStream} reading them from a file.
+     *
+     * @param commands the commands, in order.
+     */
+    public void executeCommands(final Iterator<CommandInput> commands) {
+        while (commands.hasNext()) {
+            final CommandInput commandInput = commands.next();
+            commandInput.setHandlerId(CommandTable.idOf(commandInput.getCommand()));
             try {
-                final Command command = commandFactory.createCommand(commandInput);
-                command.execute();
+                CommandTable.dispatch(commandInput, context);
             } catch (final Exception e) {
-                output.add(createErrorOutput(commandInput.getCommand(), e.getMessage()));
+                context.getOutput().add(createErrorOutput(commandInput.getCommand(),
+                        e.getMessage()));
             }
         }
     }
@@ -169,8 +114,7 @@ public class CommandExecutor {
      * @return A JSON object containing error details.
      */
     private ObjectNode createErrorOutput(final String command, final String message) {
-        final ObjectMapper mapper = new ObjectMapper();
-        final ObjectNode errorNode = mapper.createObjectNode();
+        final ObjectNode errorNode = JsonOutput.objectNode();
         errorNode.put("command", command);
         errorNode.put("error", message);
         return errorNode;
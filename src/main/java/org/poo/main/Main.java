@@ -1,20 +1,17 @@
 package org.poo.main;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.checker.Checker;
 import org.poo.checker.CheckerConstants;
-import org.poo.commands.CommandFactory;
+import org.poo.commands.ExecutionContext;
+import org.poo.fileio.CommandInput;
+import org.poo.fileio.CommandStream;
 import org.poo.fileio.ObjectInput;
-import org.poo.repository.AccountRepository;
-import org.poo.repository.SplitsRepository;
-import org.poo.repository.AliasRepository;
-import org.poo.repository.CommerciantsRepository;
-import org.poo.repository.SpendingsRepository;
-import org.poo.repository.TransactionRepository;
-import org.poo.repository.UserRepository;
-import org.poo.repository.CardRepository;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
+import org.poo.output.OutputSinks;
+import org.poo.repository.storage.StorageBackends;
+import org.poo.services.BankContext;
 
 import java.io.File;
 import java.io.IOException;
@@ -23,6 +20,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.Objects;
 
 /**
@@ -77,44 +75,45 @@ public final class Main {
      */
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonOutput.MAPPER;
         File file = new File(CheckerConstants.TESTS_PATH + filePath1);
-        ObjectInput inputData = objectMapper.readValue(file, ObjectInput.class);
-
-        ArrayNode output = objectMapper.createArrayNode();
-
-        // Initialize the repositories
-        UserRepository userRepository = new UserRepository();
-        AccountRepository accountRepository = new AccountRepository();
-        TransactionRepository transactionRepository = new TransactionRepository();
-        CardRepository cardRepository = new CardRepository();
-        AliasRepository aliasRepository = new AliasRepository();
-        SpendingsRepository spendingsRepository = new SpendingsRepository();
-        CommerciantsRepository commerciantsRepository = new CommerciantsRepository();
-        SplitsRepository splitsRepository = new SplitsRepository(transactionRepository);
-
-        // Initialize CommandFactory
-        CommandFactory commandFactory = new CommandFactory(
-                accountRepository,
-                transactionRepository,
-                cardRepository,
-                aliasRepository,
-                userRepository,
-                spendingsRepository,
-                commerciantsRepository,
-                splitsRepository,
-                output
-        );
-
-        // Initialize CommandExecutor
-        CommandExecutor executor = new CommandExecutor(inputData, output, commandFactory,
-                userRepository, accountRepository, transactionRepository, cardRepository,
-                aliasRepository, spendingsRepository, commerciantsRepository);
-
-        executor.executeCommands();
+        if (CommandStream.isConfigured()) {
+            try (CommandStream commands = new CommandStream(objectMapper, file)) {
+                run(objectMapper, commands.getHeader(), commands, filePath2);
+            }
+        } else {
+            ObjectInput inputData = objectMapper.readValue(file, ObjectInput.class);
+            run(objectMapper, inputData, Arrays.asList(inputData.getCommands()).iterator(),
+                    filePath2);
+        }
+    }
 
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(filePath2), output);
+    /**
+     * Runs the commands of one input file and writes their output.
+     *
+     * @param objectMapper the mapper used for the output
+     * @param inputData    the users, exchange rates and commerciants of the file
+     * @param commands     the commands of the file, in order
+     * @param filePath2    for output file
+     * @throws IOException in case of exceptions to writing
+     */
+    private static void run(final ObjectMapper objectMapper, final ObjectInput inputData,
+                            final Iterator<CommandInput> commands,
+                            final String filePath2) throws IOException {
+        // A bank of its own, on the configured storage backend
+        BankContext bank = new BankContext(StorageBackends.fromConfiguration());
+
+        // Results go to the configured sink as the commands produce them
+        try (OutputSink output = OutputSinks.fromConfiguration(objectMapper,
+                new File(filePath2))) {
+            // Everything the commands of this run work on
+            ExecutionContext context = new ExecutionContext(bank, output);
+
+            // Initialize CommandExecutor
+            CommandExecutor executor = new CommandExecutor(inputData, context);
+
+            executor.executeCommands(commands);
+        }
     }
 
     /**
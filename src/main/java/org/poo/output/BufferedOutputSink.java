@@ -0,0 +1,45 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Keeps every result in memory and writes them as one pretty-printed array
+ * when closed. Nothing reaches the file before the run ends.
+ */
+public final class BufferedOutputSink implements OutputSink {
+    private final ObjectMapper mapper;
+    private final File file;
+    private final ArrayNode results;
+
+    /**
+     * @param mapper the mapper used to write the results.
+     * @param file   the output file.
+     */
+    public BufferedOutputSink(final ObjectMapper mapper, final File file) {
+        this.mapper = mapper;
+        this.file = file;
+        this.results = mapper.createArrayNode();
+    }
+
+    @Override
+    public void add(final JsonNode result) {
+        results.add(result);
+    }
+
+    /**
+     * @return the results added so far.
+     */
+    public ArrayNode getResults() {
+        return results;
+    }
+
+    @Override
+    public void close() throws IOException {
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file, results);
+    }
+}
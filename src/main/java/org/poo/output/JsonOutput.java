@@ -0,0 +1,84 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Shared Jackson setup for everything the bank reads and writes. Building
+ * an {@link ObjectMapper} is expensive, and both the mapper and the node
+ * factory are safe to share once configured, so commands build their
+ * results from here instead of creating a mapper per result.
+ */
+public final class JsonOutput {
+    /**
+     * Mapper used to read input files and write output files.
+     */
+    public static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final JsonNodeFactory NODES = MAPPER.getNodeFactory();
+
+    private JsonOutput() {
+        // Checkstyle error free constructor
+    }
+
+    /**
+     * @return a new, empty JSON object.
+     */
+    public static ObjectNode objectNode() {
+        return NODES.objectNode();
+    }
+
+    /**
+     * @return a new, empty JSON array.
+     */
+    public static ArrayNode arrayNode() {
+        return NODES.arrayNode();
+    }
+
+    /**
+     * Starts the result of a command.
+     *
+     * @param command   the name of the command.
+     * @param timestamp the timestamp of the command.
+     * @return {@code {command, timestamp}}; the caller adds the output.
+     */
+    public static ObjectNode result(final String command, final int timestamp) {
+        final ObjectNode result = objectNode();
+        result.put("command", command);
+        result.put("timestamp", timestamp);
+        return result;
+    }
+
+    /**
+     * Builds the result of a command whose output is a single message.
+     *
+     * @param command   the name of the command.
+     * @param key       the field of the message, such as "error" or "success".
+     * @param message   the message.
+     * @param timestamp the timestamp of the command.
+     * @return {@code {command, timestamp, output: {key: message, timestamp}}}.
+     */
+    public static ObjectNode message(final String command, final String key,
+                                     final String message, final int timestamp) {
+        final ObjectNode result = result(command, timestamp);
+        final ObjectNode output = result.putObject("output");
+        output.put(key, message);
+        output.put("timestamp", timestamp);
+        return result;
+    }
+
+    /**
+     * Builds the usual error result of a command.
+     *
+     * @param command     the name of the command.
+     * @param description what went wrong.
+     * @param timestamp   the timestamp of the command.
+     * @return {@code {command, timestamp, output: {description, timestamp}}}.
+     */
+    public static ObjectNode errorOutput(final String command, final String description,
+                                         final int timestamp) {
+        return message(command, "description", description, timestamp);
+    }
+}
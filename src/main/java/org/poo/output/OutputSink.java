@@ -0,0 +1,29 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Where the results of the commands go, one top-level JSON value per
+ * result, in the order the commands produce them. Closing the sink
+ * completes the output file.
+ */
+public interface OutputSink extends Closeable {
+    /**
+     * Appends the result of a command.
+     *
+     * @param result the result to append.
+     * @throws java.io.UncheckedIOException if the result cannot be written.
+     */
+    void add(JsonNode result);
+
+    /**
+     * Completes the output and releases the file.
+     *
+     * @throws IOException if the output cannot be written.
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,61 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Selects how the results of a run are written.
+ */
+public final class OutputSinks {
+    /**
+     * System property naming the sink to use ("buffered" or "streaming").
+     */
+    public static final String PROPERTY = "bank.output";
+    public static final String BUFFERED = "buffered";
+    public static final String STREAMING = "streaming";
+
+    /**
+     * for coding style
+     */
+    private OutputSinks() {
+    }
+
+    /**
+     * Opens the sink named by the {@value #PROPERTY} system property,
+     * falling back to the buffered sink when it is not set.
+     *
+     * @param mapper the mapper used to write the results.
+     * @param file   the output file.
+     * @return the configured sink.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if the property names an unknown sink.
+     */
+    public static OutputSink fromConfiguration(final ObjectMapper mapper,
+                                               final File file) throws IOException {
+        return forName(System.getProperty(PROPERTY, BUFFERED), mapper, file);
+    }
+
+    /**
+     * Opens a sink by name.
+     *
+     * @param name   the name of the sink.
+     * @param mapper the mapper used to write the results.
+     * @param file   the output file.
+     * @return a new sink with no results.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if the name is unknown.
+     */
+    public static OutputSink forName(final String name, final ObjectMapper mapper,
+                                     final File file) throws IOException {
+        switch (name) {
+            case BUFFERED:
+                return new BufferedOutputSink(mapper, file);
+            case STREAMING:
+                return new StreamingOutputSink(mapper, file);
+            default:
+                throw new IllegalArgumentException("Unknown output sink: " + name);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes each result to the file through a {@link JsonGenerator} as soon as
+ * it is added and flushes it, so only the result being written is held in memory and the
+ * results of a run that fails midway are kept. The file is laid out exactly
+ * as {@link BufferedOutputSink} lays it out.
+ */
+public final class StreamingOutputSink implements OutputSink {
+    private final JsonGenerator generator;
+
+    /**
+     * Opens the output file and starts the array of results.
+     *
+     * @param mapper the mapper used to write the results.
+     * @param file   the output file.
+     * @throws IOException if the file cannot be written.
+     */
+    public StreamingOutputSink(final ObjectMapper mapper, final File file) throws IOException {
+        this.generator = mapper.writerWithDefaultPrettyPrinter()
+                .createGenerator(file, JsonEncoding.UTF8);
+        try {
+            generator.writeStartArray();
+        } catch (IOException e) {
+            generator.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void add(final JsonNode result) {
+        try {
+            generator.writeTree(result);
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            generator.writeEndArray();
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package org.poo.repository;
 
 import org.poo.entities.Account.Account;
+import org.poo.repository.storage.KeyIndex;
+import org.poo.repository.storage.StorageBackend;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Repository class responsible for managing accounts.
+ * Accounts are indexed by IBAN and by owner email, so lookups do not
+ * need to walk the whole account list.
  */
 public final class AccountRepository {
     private final List<Account> accounts;
+    private final KeyIndex<String, Account> accountsByIban;
+    private final KeyIndex<String, List<Account>> accountsByOwner;
 
-    public AccountRepository() {
+    /**
+     * Constructs a new AccountRepository with no accounts.
+     *
+     * @param storage the backend the indexes are kept on.
+     */
+    public AccountRepository(final StorageBackend storage) {
         this.accounts = new ArrayList<>();
+        this.accountsByIban = storage.newKeyIndex();
+        this.accountsByOwner = storage.newKeyIndex();
     }
 
     /**
@@ -25,6 +39,9 @@ public final class AccountRepository {
             throw new IllegalArgumentException("Account not found");
         }
         accounts.add(account);
+        accountsByIban.put(account.getIban(), account);
+        accountsByOwner.computeIfAbsent(account.getEmail(), k -> new ArrayList<>())
+                .add(account);
     }
 
     /**
@@ -34,12 +51,7 @@ public final class AccountRepository {
      * @return the account matching the IBAN, or null if no account is found.
      */
     public Account findAccountByIban(final String iban) {
-        for (Account account : accounts) {
-            if (account.getIban().equals(iban)) {
-                return account;
-            }
-        }
-        return null;
+        return accountsByIban.get(iban);
     }
 
     /**
@@ -48,21 +60,35 @@ public final class AccountRepository {
      * @param iban the IBAN of the account to be deleted.
      */
     public void deleteAccount(final String iban) {
-        for (Account account : accounts) {
-            if (account.getIban().equals(iban)) {
-                accounts.remove(account);
-                break;
-            }
+        Account account = accountsByIban.remove(iban);
+        if (account == null) {
+            return;
         }
+        accounts.remove(account);
+        unlinkOwner(account);
     }
 
     /**
      * Gets all accounts from the repository.
      *
-     * @return a list of all accounts in the repository.
+     * @return a read-only view of all accounts in the repository.
      */
     public List<Account> getAllAccounts() {
-        return new ArrayList<>(accounts);
+        return Collections.unmodifiableList(accounts);
+    }
+
+    /**
+     * Gets all accounts owned by the user with the given email.
+     *
+     * @param email the email of the owner.
+     * @return a read-only view of the owner's accounts, in creation order.
+     */
+    public List<Account> getAccountsByOwner(final String email) {
+        List<Account> owned = accountsByOwner.get(email);
+        if (owned == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(owned);
     }
 
     /**
@@ -72,12 +98,7 @@ public final class AccountRepository {
      * @return the account matching the IBAN, or null if no account is found.
      */
     public Account getAccountByIban(final String iban) {
-        for (Account acc : accounts) {
-            if (acc.getIban().equals(iban)) {
-                return acc;
-            }
-        }
-        return null;
+        return accountsByIban.get(iban);
     }
 
     /**
@@ -91,14 +112,38 @@ public final class AccountRepository {
             throw new IllegalArgumentException("Account cannot be null.");
         }
 
-        for (int i = 0; i < accounts.size(); i++) {
-            if (accounts.get(i).getIban().equals(account.getIban())) {
-                accounts.set(i, account);
-                return;
-            }
+        Account existing = accountsByIban.get(account.getIban());
+        if (existing == null) {
+            throw new IllegalArgumentException("Account not found in repository.");
         }
 
-        throw new IllegalArgumentException("Account not found in repository.");
+        accounts.set(accounts.indexOf(existing), account);
+        accountsByIban.put(account.getIban(), account);
+
+        List<Account> owned = accountsByOwner.get(existing.getEmail());
+        if (existing.getEmail().equals(account.getEmail())) {
+            owned.set(owned.indexOf(existing), account);
+            return;
+        }
+        unlinkOwner(existing);
+        accountsByOwner.computeIfAbsent(account.getEmail(), k -> new ArrayList<>())
+                .add(account);
+    }
+
+    /**
+     * Removes an account from its owner's secondary index.
+     *
+     * @param account the account to unlink.
+     */
+    private void unlinkOwner(final Account account) {
+        List<Account> owned = accountsByOwner.get(account.getEmail());
+        if (owned == null) {
+            return;
+        }
+        owned.remove(account);
+        if (owned.isEmpty()) {
+            accountsByOwner.remove(account.getEmail());
+        }
     }
 
 }
@@ -1,22 +1,41 @@
 package org.poo.repository;
 
 import org.poo.entities.accountAlias.Alias;
+import org.poo.repository.storage.KeyIndex;
+import org.poo.repository.storage.StorageBackend;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Repository class responsible for managing aliases associated with accounts.
+ * Aliases are indexed both by name and by the IBAN they point to.
  */
 public final class AliasRepository {
-    private final List<Alias> aliases = new ArrayList<>();
+    private final KeyIndex<String, Alias> aliasesByName;
+    private final KeyIndex<String, List<Alias>> aliasesByIban;
+
+    /**
+     * Constructs a new AliasRepository with no aliases.
+     *
+     * @param storage the backend the indexes are kept on.
+     */
+    public AliasRepository(final StorageBackend storage) {
+        this.aliasesByName = storage.newKeyIndex();
+        this.aliasesByIban = storage.newKeyIndex();
+    }
 
     /**
      * Adds an alias to the repository.
+     * If the name is already taken, the first alias registered under it is kept.
      *
      * @param alias the alias to be added.
      */
     public void addAlias(final Alias alias) {
-        aliases.add(alias);
+        if (aliasesByName.putIfAbsent(alias.getAliasName(), alias) != null) {
+            return;
+        }
+        aliasesByIban.computeIfAbsent(alias.getAccountIBAN(), k -> new ArrayList<>())
+                .add(alias);
     }
 
     /**
@@ -26,12 +45,7 @@ public final class AliasRepository {
      * @return the alias with the given name, or null if no alias is found.
      */
     public Alias findAliasByAlias(final String aliasName) {
-        for (Alias alias : aliases) {
-            if (alias.getAliasName().equals(aliasName)) {
-                return alias;
-            }
-        }
-        return null;
+        return aliasesByName.get(aliasName);
     }
 
     /**
@@ -41,12 +55,11 @@ public final class AliasRepository {
      * @return the alias with the corresponding IBAN, or null if no alias is found.
      */
     public Alias findByIban(final String iban) {
-        for (Alias alias : aliases) {
-            if (alias.getAccountIBAN().equals(iban)) {
-                return alias;
-            }
+        List<Alias> aliases = aliasesByIban.get(iban);
+        if (aliases == null) {
+            return null;
         }
-        return null;
+        return aliases.get(0);
     }
 
     /**
@@ -56,13 +69,17 @@ public final class AliasRepository {
      * @return true if the alias was removed, false if no alias was found with the given name.
      */
     public boolean removeAlias(final String aliasName) {
-        for (Alias alias : aliases) {
-            if (alias.getAliasName().equals(aliasName)) {
-                aliases.remove(alias);
-                return true;
-            }
+        Alias alias = aliasesByName.remove(aliasName);
+        if (alias == null) {
+            return false;
+        }
+
+        List<Alias> aliases = aliasesByIban.get(alias.getAccountIBAN());
+        aliases.remove(alias);
+        if (aliases.isEmpty()) {
+            aliasesByIban.remove(alias.getAccountIBAN());
         }
-        return false;
+        return true;
     }
 
 }
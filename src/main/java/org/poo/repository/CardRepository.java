@@ -1,15 +1,31 @@
 package org.poo.repository;
 
 import org.poo.entities.Card.Card;
+import org.poo.repository.storage.KeyIndex;
+import org.poo.repository.storage.StorageBackend;
+import org.poo.utils.NumberGenerator;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Repository class for managing cards associated with accounts.
+ * Cards are indexed by card number and by the IBAN of their account.
  */
 public final class CardRepository {
-    private final List<Card> cards = new ArrayList<>();
+    private final KeyIndex<String, Card> cardsByNumber;
+    private final KeyIndex<String, List<Card>> cardsByAccount;
+
+    /**
+     * Constructs a new CardRepository with no cards.
+     *
+     * @param storage the backend the indexes are kept on.
+     */
+    public CardRepository(final StorageBackend storage) {
+        this.cardsByNumber = storage.newKeyIndex();
+        this.cardsByAccount = storage.newKeyIndex();
+    }
 
     /**
      * Saves a new card to the repository.
@@ -17,23 +33,23 @@ public final class CardRepository {
      * @param card the card to be saved.
      */
     public void saveCard(final Card card) {
-        cards.add(card);
+        cardsByNumber.put(card.getNumber(), card);
+        cardsByAccount.computeIfAbsent(card.getAccountIban(), k -> new ArrayList<>())
+                .add(card);
     }
 
     /**
      * Retrieves a list of cards associated with a specific account.
      *
      * @param accountIban the IBAN of the account whose cards I need.
-     * @return a list of cards associated with the given account IBAN.
+     * @return a read-only list of cards associated with the given account IBAN.
      */
     public List<Card> getCardsByAccount(final String accountIban) {
-        List<Card> result = new ArrayList<>();
-        for (Card card : cards) {
-            if (card.getAccountIban().equals(accountIban)) {
-                result.add(card);
-            }
+        List<Card> result = cardsByAccount.get(accountIban);
+        if (result == null) {
+            return Collections.emptyList();
         }
-        return result;
+        return Collections.unmodifiableList(result);
     }
 
     /**
@@ -43,12 +59,21 @@ public final class CardRepository {
      * @return the card associated with the given number, or null if not found.
      */
     public Card getCardByNumber(final String number) {
-        for (Card card : cards) {
-            if (card.getNumber().equals(number)) {
-                return card;
-            }
-        }
-        return null;
+        return cardsByNumber.get(number);
+    }
+
+    /**
+     * Generates a new number for a card and moves its index entry to it.
+     * Card numbers must not be changed behind the repository's back,
+     * otherwise lookups by number would still find the old one.
+     *
+     * @param card    the card whose number is regenerated.
+     * @param numbers the generator of the bank the card belongs to.
+     */
+    public void regenerateCardNumber(final Card card, final NumberGenerator numbers) {
+        cardsByNumber.remove(card.getNumber());
+        card.setCardNumber(numbers.generateCardNumber());
+        cardsByNumber.put(card.getNumber(), card);
     }
 
     /**
@@ -57,11 +82,15 @@ public final class CardRepository {
      * @param number the number of the card to be deleted.
      */
     public void deleteCard(final String number) {
-        for (Card card : cards) {
-            if (card.getNumber().equals(number)) {
-                cards.remove(card);
-                break;
-            }
+        Card card = cardsByNumber.remove(number);
+        if (card == null) {
+            return;
+        }
+
+        List<Card> accountCards = cardsByAccount.get(card.getAccountIban());
+        accountCards.remove(card);
+        if (accountCards.isEmpty()) {
+            cardsByAccount.remove(card.getAccountIban());
         }
     }
 }
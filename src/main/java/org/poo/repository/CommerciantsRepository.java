@@ -1,32 +1,47 @@
 package org.poo.repository;
 
 import org.poo.entities.Commerciants.Commerciant;
+import org.poo.repository.storage.KeyIndex;
+import org.poo.repository.storage.StorageBackend;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
  * Repository class for managing commerciants.
  * Provides methods to add, retrieve, update, and delete commerciants.
+ * Commerciants are indexed by ID and by their case-folded name.
  */
 public class CommerciantsRepository {
 
     private final List<Commerciant> commerciants;
+    private final KeyIndex<Integer, Commerciant> commerciantsById;
+    private final KeyIndex<String, Commerciant> commerciantsByName;
 
     /**
-     * Default constructor initializing an empty list of commerciants.
+     * Constructor initializing an empty list of commerciants.
+     *
+     * @param storage the backend the indexes are kept on.
      */
-    public CommerciantsRepository() {
+    public CommerciantsRepository(final StorageBackend storage) {
         this.commerciants = new ArrayList<>();
+        this.commerciantsById = storage.newKeyIndex();
+        this.commerciantsByName = storage.newKeyIndex();
     }
 
     /**
      * Adds a new commerciant to the repository.
+     * When an ID or a name is already taken, lookups keep returning
+     * the commerciant that was added first.
      *
      * @param commerciant the commerciant to add.
      */
     public void addCommerciant(final Commerciant commerciant) {
         commerciants.add(commerciant);
+        commerciantsById.putIfAbsent(commerciant.getId(), commerciant);
+        commerciantsByName.putIfAbsent(nameKey(commerciant.getName()), commerciant);
     }
 
     /**
@@ -36,18 +51,29 @@ public class CommerciantsRepository {
      * @return an Optional containing the commerciant if found, or empty if not.
      */
     public Optional<Commerciant> findById(final int id) {
-        return commerciants.stream()
-                .filter(commerciant -> commerciant.getId() == id)
-                .findFirst();
+        return Optional.ofNullable(commerciantsById.get(id));
+    }
+
+    /**
+     * Retrieves a commerciant by name, ignoring case.
+     *
+     * @param name the name of the commerciant to retrieve.
+     * @return the commerciant with the given name, or null if not found.
+     */
+    public Commerciant findByName(final String name) {
+        if (name == null) {
+            return null;
+        }
+        return commerciantsByName.get(nameKey(name));
     }
 
     /**
      * Retrieves all commerciants.
      *
-     * @return a list of all commerciants.
+     * @return a read-only list of all commerciants.
      */
     public List<Commerciant> findAll() {
-        return new ArrayList<>(commerciants);
+        return Collections.unmodifiableList(commerciants);
     }
 
     /**
@@ -60,10 +86,15 @@ public class CommerciantsRepository {
         Commerciant existingCommerciant = findById(updatedCommerciant.getId())
                 .orElseThrow(() -> new IllegalArgumentException("Commerciant not found."));
 
+        String oldName = nameKey(existingCommerciant.getName());
         existingCommerciant.setName(updatedCommerciant.getName());
         existingCommerciant.setAccount(updatedCommerciant.getAccount());
         existingCommerciant.setType(updatedCommerciant.getType());
         existingCommerciant.setCashbackStrategy(updatedCommerciant.getCashbackStrategy());
+
+        // Both names may now resolve to another commerciant
+        reindexName(oldName);
+        reindexName(nameKey(existingCommerciant.getName()));
     }
 
     /**
@@ -76,5 +107,49 @@ public class CommerciantsRepository {
         Commerciant commerciant = findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Commerciant not found."));
         commerciants.remove(commerciant);
+
+        // Let a commerciant shadowed by the deleted one become visible again
+        reindexId(id);
+        reindexName(nameKey(commerciant.getName()));
+    }
+
+    /**
+     * Points an ID at the first commerciant holding it, as a scan of the list would find.
+     *
+     * @param id the ID to index again.
+     */
+    private void reindexId(final int id) {
+        commerciantsById.remove(id);
+        for (Commerciant commerciant : commerciants) {
+            if (commerciant.getId() == id) {
+                commerciantsById.put(id, commerciant);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Points a name key at the first commerciant holding it, as a scan of the list would find.
+     *
+     * @param key the case-folded name to index again.
+     */
+    private void reindexName(final String key) {
+        commerciantsByName.remove(key);
+        for (Commerciant commerciant : commerciants) {
+            if (nameKey(commerciant.getName()).equals(key)) {
+                commerciantsByName.put(key, commerciant);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Folds a commerciant name to the key used by the name index.
+     *
+     * @param name the name to fold.
+     * @return the case-folded name.
+     */
+    private static String nameKey(final String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,106 @@
+package org.poo.repository;
+
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.StringRegistry;
+
+import java.util.Arrays;
+
+/**
+ * {@link TransactionStore} kept on the Java heap, one primitive array per field.
+ * This is the default store of the transaction log.
+ */
+public final class HeapTransactionStore extends TransactionStore {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final long[][] longs = new long[LONG_FIELDS][];
+    private final int[][] ints = new int[INT_FIELDS][];
+    private final byte[][] bytes = new byte[BYTE_FIELDS][];
+    private int size;
+
+    /**
+     * Constructs an empty store.
+     *
+     * @param strings    the registry the store keeps strings as ids of.
+     * @param currencies the registry the store keeps currencies as ids of.
+     */
+    public HeapTransactionStore(final StringRegistry strings,
+                                final CurrencyRegistry currencies) {
+        this(strings, currencies, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty store sized for a number of rows.
+     *
+     * @param strings    the registry the store keeps strings as ids of.
+     * @param currencies the registry the store keeps currencies as ids of.
+     * @param capacity   the number of rows to allocate up front.
+     */
+    public HeapTransactionStore(final StringRegistry strings,
+                                final CurrencyRegistry currencies, final int capacity) {
+        super(strings, currencies);
+        for (int field = 0; field < LONG_FIELDS; field++) {
+            longs[field] = new long[capacity];
+        }
+        for (int field = 0; field < INT_FIELDS; field++) {
+            ints[field] = new int[capacity];
+        }
+        for (int field = 0; field < BYTE_FIELDS; field++) {
+            bytes[field] = new byte[capacity];
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected int allocateRow() {
+        if (size == longs[0].length) {
+            grow(Math.max(1, size * 2));
+        }
+        return size++;
+    }
+
+    @Override
+    protected long getLong(final int row, final int field) {
+        return longs[field][row];
+    }
+
+    @Override
+    protected void putLong(final int row, final int field, final long value) {
+        longs[field][row] = value;
+    }
+
+    @Override
+    protected int getInt(final int row, final int field) {
+        return ints[field][row];
+    }
+
+    @Override
+    protected void putInt(final int row, final int field, final int value) {
+        ints[field][row] = value;
+    }
+
+    @Override
+    protected byte getByte(final int row, final int field) {
+        return bytes[field][row];
+    }
+
+    @Override
+    protected void putByte(final int row, final int field, final byte value) {
+        bytes[field][row] = value;
+    }
+
+    private void grow(final int capacity) {
+        for (int field = 0; field < LONG_FIELDS; field++) {
+            longs[field] = Arrays.copyOf(longs[field], capacity);
+        }
+        for (int field = 0; field < INT_FIELDS; field++) {
+            ints[field] = Arrays.copyOf(ints[field], capacity);
+        }
+        for (int field = 0; field < BYTE_FIELDS; field++) {
+            bytes[field] = Arrays.copyOf(bytes[field], capacity);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.poo.repository;
+
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.StringRegistry;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only {@link TransactionStore} kept outside the Java heap.
+ * Every row is a fixed-width record in a direct {@link ByteBuffer}:
+ * <pre>
+ *   offset  0  id            long
+ *   offset  8  amount        long (minor units)
+ *   offset 16  totalAmount          long (raw bits of a double)
+ *   offset 24  descriptionArgument  long (raw bits of a double)
+ *   offset 32  timestamp, currency, email, fromAccount, toAccount,
+ *              description, cardNumber, commerciant, error,
+ *              splitPaymentType, involvedAccounts, amountForUsers   int each
+ *   offset 80  type, status, flags                                   byte each
+ *   offset 83  padding up to {@value #RECORD_BYTES} bytes
+ * </pre>
+ * Variable-length values never enter a record: strings are
+ * {@link StringRegistry} ids, and the split payment lists
+ * stay in the side tables of the base class. Records are written into
+ * segments of {@value #RECORDS_PER_SEGMENT} records that are allocated as
+ * the journal fills up and never moved, so the records themselves only cost
+ * the heap one buffer object per segment, and reading a record is a pair of
+ * absolute reads that allocate nothing.
+ * <p>
+ * The rest stays on the heap: the split payment lists in the side tables,
+ * the registered strings, and the {@link TransactionRepository}'s log and
+ * posting lists, which hold row numbers rather than objects. A
+ * {@link org.poo.entities.Transaction} view only exists while a result is read.
+ */
+public final class OffHeapTransactionStore extends TransactionStore {
+    static final int RECORD_BYTES = 88;
+    static final int RECORDS_PER_SEGMENT = 8192;
+
+    private static final int SEGMENT_SHIFT = Integer.numberOfTrailingZeros(RECORDS_PER_SEGMENT);
+    private static final int RECORD_MASK = RECORDS_PER_SEGMENT - 1;
+    private static final int INT_OFFSET = LONG_FIELDS * Long.BYTES;
+    private static final int BYTE_OFFSET = INT_OFFSET + INT_FIELDS * Integer.BYTES;
+
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private int size;
+
+    /**
+     * Constructs an empty store; no segment is allocated until the first row.
+     *
+     * @param strings    the registry the store keeps strings as ids of.
+     * @param currencies the registry the store keeps currencies as ids of.
+     */
+    public OffHeapTransactionStore(final StringRegistry strings,
+                                   final CurrencyRegistry currencies) {
+        super(strings, currencies);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected int allocateRow() {
+        if ((size & RECORD_MASK) == 0) {
+            segments.add(ByteBuffer.allocateDirect(RECORDS_PER_SEGMENT * RECORD_BYTES)
+                    .order(ByteOrder.nativeOrder()));
+        }
+        return size++;
+    }
+
+    @Override
+    protected long getLong(final int row, final int field) {
+        return segment(row).getLong(offset(row) + field * Long.BYTES);
+    }
+
+    @Override
+    protected void putLong(final int row, final int field, final long value) {
+        segment(row).putLong(offset(row) + field * Long.BYTES, value);
+    }
+
+    @Override
+    protected int getInt(final int row, final int field) {
+        return segment(row).getInt(offset(row) + INT_OFFSET + field * Integer.BYTES);
+    }
+
+    @Override
+    protected void putInt(final int row, final int field, final int value) {
+        segment(row).putInt(offset(row) + INT_OFFSET + field * Integer.BYTES, value);
+    }
+
+    @Override
+    protected byte getByte(final int row, final int field) {
+        return segment(row).get(offset(row) + BYTE_OFFSET + field);
+    }
+
+    @Override
+    protected void putByte(final int row, final int field, final byte value) {
+        segment(row).put(offset(row) + BYTE_OFFSET + field, value);
+    }
+
+    private ByteBuffer segment(final int row) {
+        return segments.get(row >>> SEGMENT_SHIFT);
+    }
+
+    private static int offset(final int row) {
+        return (row & RECORD_MASK) * RECORD_BYTES;
+    }
+}
@@ -0,0 +1,142 @@
+package org.poo.repository;
+
+import java.util.Arrays;
+
+/**
+ * Running sum of amounts bucketed by timestamp. Amounts are in
+ * {@link org.poo.utils.Money} minor units, so the sums are exact.
+ * Each bucket keeps the prefix sum of every amount recorded up to and
+ * including its timestamp, so the total of a [start, end] window is
+ * found with two binary searches and one subtraction.
+ */
+final class RunningTotal {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] timestamps = new int[INITIAL_CAPACITY];
+    private long[] prefixSums = new long[INITIAL_CAPACITY];
+    private int[] prefixCounts = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds an amount. Amounts arriving in timestamp order are folded
+     * into the last bucket or appended in O(1); a backdated amount
+     * shifts the prefixes of every later bucket.
+     *
+     * @param timestamp the timestamp of the amount.
+     * @param amount    the amount to add.
+     */
+    void add(final int timestamp, final long amount) {
+        final int position = upperBound(timestamp);
+        if (position > 0 && timestamps[position - 1] == timestamp) {
+            for (int i = position - 1; i < size; i++) {
+                prefixSums[i] += amount;
+                prefixCounts[i]++;
+            }
+            return;
+        }
+
+        if (size == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            prefixSums = Arrays.copyOf(prefixSums, size * 2);
+            prefixCounts = Arrays.copyOf(prefixCounts, size * 2);
+        }
+        System.arraycopy(timestamps, position, timestamps, position + 1, size - position);
+        System.arraycopy(prefixSums, position, prefixSums, position + 1, size - position);
+        System.arraycopy(prefixCounts, position, prefixCounts, position + 1, size - position);
+        timestamps[position] = timestamp;
+        prefixSums[position] = sumBefore(position);
+        prefixCounts[position] = countBefore(position);
+        size++;
+
+        for (int i = position; i < size; i++) {
+            prefixSums[i] += amount;
+            prefixCounts[i]++;
+        }
+    }
+
+    /**
+     * @param start the first timestamp of the window (inclusive).
+     * @param end   the last timestamp of the window (inclusive).
+     * @return the sum of the amounts recorded inside the window.
+     */
+    long sum(final int start, final int end) {
+        if (start > end) {
+            return 0;
+        }
+        final int from = lowerBound(start);
+        final int to = upperBound(end);
+        if (from >= to) {
+            return 0;
+        }
+        return prefixSums[to - 1] - sumBefore(from);
+    }
+
+    /**
+     * @param start the first timestamp of the window (inclusive).
+     * @param end   the last timestamp of the window (inclusive).
+     * @return the number of amounts recorded inside the window.
+     */
+    int count(final int start, final int end) {
+        if (start > end) {
+            return 0;
+        }
+        final int from = lowerBound(start);
+        final int to = upperBound(end);
+        if (from >= to) {
+            return 0;
+        }
+        return prefixCounts[to - 1] - countBefore(from);
+    }
+
+    /**
+     * @param position a bucket position.
+     * @return the sum of every bucket before the position.
+     */
+    private long sumBefore(final int position) {
+        return position == 0 ? 0 : prefixSums[position - 1];
+    }
+
+    /**
+     * @param position a bucket position.
+     * @return the number of amounts in every bucket before the position.
+     */
+    private int countBefore(final int position) {
+        return position == 0 ? 0 : prefixCounts[position - 1];
+    }
+
+    /**
+     * @param timestamp the timestamp to look for.
+     * @return the first bucket with a timestamp greater or equal to it.
+     */
+    private int lowerBound(final int timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param timestamp the timestamp to look for.
+     * @return the first bucket with a timestamp strictly greater than it.
+     */
+    private int upperBound(final int timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
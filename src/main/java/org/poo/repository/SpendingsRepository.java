@@ -1,21 +1,42 @@
 package org.poo.repository;
 
 import org.poo.entities.spendings.Spending;
+import org.poo.repository.storage.KeyIndex;
+import org.poo.repository.storage.StorageBackend;
+import org.poo.repository.storage.TimeSeries;
+import org.poo.utils.Money;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Repository class for managing spending records.
+ * Spendings are grouped per IBAN and kept in timestamp order.
+ * Running totals in the account currency are maintained per IBAN for
+ * every commerciant and every user, so windowed sums need no scan.
  */
 public final class SpendingsRepository {
     private final List<Spending> spendings;
+    private final StorageBackend storage;
+    private final KeyIndex<String, TimeSeries<Spending>> spendingsByIban;
+    private final KeyIndex<String, KeyIndex<String, RunningTotal>> totalsByCommerciant;
+    private final KeyIndex<String, KeyIndex<String, RunningTotal>> totalsByEmail;
 
     /**
      * Constructs a new SpendingsRepository with an empty list of spendings.
+     *
+     * @param storage the backend the indexes are kept on.
      */
-    public SpendingsRepository() {
+    public SpendingsRepository(final StorageBackend storage) {
+        this.storage = storage;
         this.spendings = new ArrayList<>();
+        this.spendingsByIban = storage.newKeyIndex();
+        this.totalsByCommerciant = storage.newKeyIndex();
+        this.totalsByEmail = storage.newKeyIndex();
     }
 
     /**
@@ -25,6 +46,17 @@ public final class SpendingsRepository {
      */
     public void recordSpending(final Spending spending) {
         spendings.add(spending);
+        spendingsByIban.computeIfAbsent(spending.getIban(),
+                k -> storage.newTimeSeries(Spending::getLastTimestamp)).add(spending);
+
+        final int timestamp = spending.getLastTimestamp();
+        final long amount = spending.getAccountAmountMinorUnits();
+        totalsByCommerciant.computeIfAbsent(spending.getIban(), k -> storage.newKeyIndex())
+                .computeIfAbsent(spending.getCommerciantName(), k -> new RunningTotal())
+                .add(timestamp, amount);
+        totalsByEmail.computeIfAbsent(spending.getIban(), k -> storage.newKeyIndex())
+                .computeIfAbsent(spending.getEmail(), k -> new RunningTotal())
+                .add(timestamp, amount);
     }
 
 
@@ -33,16 +65,80 @@ public final class SpendingsRepository {
      *
      * @param iban the IBAN for filtering spendings.
      *
-     * @return a list of spendings associated with the given IBAN.
+     * @return a read-only list of spendings associated with the given IBAN.
      */
     public List<Spending> getSpendingsByIban(final String iban) {
-        List<Spending> result = new ArrayList<>();
-        for (Spending sp : spendings) {
-            if (sp.getIban().equals(iban)) {
-                result.add(sp);
-            }
+        TimeSeries<Spending> index = spendingsByIban.get(iban);
+        return index == null ? Collections.emptyList() : index.all();
+    }
+
+    /**
+     * Retrieves the spendings of an IBAN inside a time window.
+     *
+     * @param iban           the IBAN for filtering spendings.
+     * @param startTimestamp the start of the window (inclusive).
+     * @param endTimestamp   the end of the window (inclusive).
+     * @return a read-only list of the spendings in the window.
+     */
+    public List<Spending> getSpendingsByIban(final String iban, final int startTimestamp,
+                                             final int endTimestamp) {
+        TimeSeries<Spending> index = spendingsByIban.get(iban);
+        return index == null ? Collections.emptyList()
+                : index.range(startTimestamp, endTimestamp);
+    }
+
+    /**
+     * Sums the spendings of an IBAN per commerciant inside a time window.
+     * Only commerciants with at least one spending in the window are listed.
+     *
+     * @param iban           the IBAN for filtering spendings.
+     * @param startTimestamp the start of the window (inclusive).
+     * @param endTimestamp   the end of the window (inclusive).
+     * @return the totals in the account currency, sorted by commerciant name.
+     */
+    public Map<String, Double> getTotalsByCommerciant(final String iban,
+                                                      final int startTimestamp,
+                                                      final int endTimestamp) {
+        return windowTotals(totalsByCommerciant.get(iban), startTimestamp, endTimestamp,
+                new TreeMap<>());
+    }
+
+    /**
+     * Sums the spendings of an IBAN per user inside a time window.
+     * Only users with at least one spending in the window are listed.
+     *
+     * @param iban           the IBAN for filtering spendings.
+     * @param startTimestamp the start of the window (inclusive).
+     * @param endTimestamp   the end of the window (inclusive).
+     * @return the totals in the account currency, keyed by user email.
+     */
+    public Map<String, Double> getTotalsByEmail(final String iban, final int startTimestamp,
+                                                final int endTimestamp) {
+        return windowTotals(totalsByEmail.get(iban), startTimestamp, endTimestamp,
+                new HashMap<>());
+    }
+
+    /**
+     * Collects the non-empty window sums of a group of running totals.
+     *
+     * @param totals         the running totals by key, or null if there are none.
+     * @param startTimestamp the start of the window (inclusive).
+     * @param endTimestamp   the end of the window (inclusive).
+     * @param result         the map to fill.
+     * @return the filled map.
+     */
+    private static Map<String, Double> windowTotals(final KeyIndex<String, RunningTotal> totals,
+                                                    final int startTimestamp,
+                                                    final int endTimestamp,
+                                                    final Map<String, Double> result) {
+        if (totals == null) {
+            return result;
         }
+        totals.forEach((key, total) -> {
+            if (total.count(startTimestamp, endTimestamp) > 0) {
+                result.put(key, Money.toUnits(total.sum(startTimestamp, endTimestamp)));
+            }
+        });
         return result;
     }
-
 }
@@ -4,24 +4,33 @@ import org.poo.entities.Account.Account;
 import org.poo.entities.Split;
 import org.poo.entities.Transaction;
 import org.poo.entities.TransactionStatus;
+import org.poo.repository.storage.KeyIndex;
+import org.poo.repository.storage.StorageBackend;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * Repository class for managing Split entities.
  * Provides methods to add, retrieve, update, and delete splits.
+ * Pending splits are also indexed by participant email, in creation order.
+ * Emails are matched ignoring case, as {@link Split} matches its participants.
  */
 public class SplitsRepository {
 
-    private final List<Split> splits;
-    private final TransactionRepository transactionRepository;
+    private final Set<Split> splits;
+    private final KeyIndex<String, Set<Split>> pendingSplitsByEmail;
 
     /**
-     * Default constructor initializing an empty list of splits.
+     * Constructor initializing an empty list of splits.
+     *
+     * @param storage the backend the participant index is kept on.
      */
-    public SplitsRepository(final TransactionRepository transactionRepository) {
-        this.splits = new ArrayList<>();
-        this.transactionRepository = transactionRepository;
+    public SplitsRepository(final StorageBackend storage) {
+        this.splits = new LinkedHashSet<>();
+        this.pendingSplitsByEmail = storage.newKeyIndex();
     }
 
     /**
@@ -29,7 +38,7 @@ public class SplitsRepository {
      * @return a list of all splits.
      */
     public List<Split> getAllSplits() {
-        return splits;
+        return new ArrayList<>(splits);
     }
 
     /**
@@ -39,26 +48,48 @@ public class SplitsRepository {
      */
     public void addSplit(final Split split) {
         splits.add(split);
+        for (Account account : split.getAccounts()) {
+            pendingSplitsByEmail.computeIfAbsent(key(account.getOwner().getEmail()),
+                    k -> new LinkedHashSet<>()).add(split);
+        }
+    }
+
+    /**
+     * Checks if a user takes part in any pending split.
+     *
+     * @param email the email of the user.
+     * @return true if the user is a participant of at least one split.
+     */
+    public boolean hasPendingSplits(final String email) {
+        return pendingSplitsByEmail.containsKey(key(email));
     }
 
     /**
      * Removes a split from the repository.
+     * The transactions recorded for the split are marked as successful.
      *
      * @param split the split to remove.
      */
     public void removeSplit(final Split split) {
-        Transaction foundTransaction = null;
-        for (Transaction transaction : transactionRepository.getAllTransactions()) {
-            if (transaction.getTimestamp() == split.getTimestamp()) {
-                foundTransaction = transaction;
-                // Set as succesful so it will appear in printTransactions
-                foundTransaction.setStatus(TransactionStatus.successful);
-            }
-        }
-        if (foundTransaction == null) {
+        if (split.getTransactions().isEmpty()) {
             throw new IllegalArgumentException("No transaction found for the given split.");
         }
+        for (Transaction transaction : split.getTransactions()) {
+            // Set as succesful so it will appear in printTransactions
+            transaction.setStatus(TransactionStatus.successful);
+        }
+
         splits.remove(split);
+        for (Account account : split.getAccounts()) {
+            String email = key(account.getOwner().getEmail());
+            Set<Split> pending = pendingSplitsByEmail.get(email);
+            if (pending != null) {
+                pending.remove(split);
+                if (pending.isEmpty()) {
+                    pendingSplitsByEmail.remove(email);
+                }
+            }
+        }
     }
 
     /**
@@ -70,19 +101,20 @@ public class SplitsRepository {
      * @throws IllegalArgumentException if no matching split or account is found.
      */
     public Split updateAcceptedStatus(final String email, final boolean accepted) {
-        for (Split split : splits) {
-            for (Account account : split.getAccounts()) {
-                if (account.getOwner().getEmail().equalsIgnoreCase(email)) {
-                    // Verify if the user has already accepted the split
-                    if (!split.hasUserAccepted(email)) {
-                        boolean updated = split.updateAcceptedSplitByEmail(email, accepted);
-                        if (!updated) {
-                            throw new IllegalArgumentException("User with email "
-                                    + email + " is not part of the split.");
-                        }
-                        return split;
-                    }
+        Set<Split> pending = pendingSplitsByEmail.get(key(email));
+        if (pending == null) {
+            return null;
+        }
+
+        for (Split split : pending) {
+            // Verify if the user has already accepted the split
+            if (!split.hasUserAccepted(email)) {
+                boolean updated = split.updateAcceptedSplitByEmail(email, accepted);
+                if (!updated) {
+                    throw new IllegalArgumentException("User with email "
+                            + email + " is not part of the split.");
                 }
+                return split;
             }
         }
         return null;
@@ -97,5 +129,11 @@ public class SplitsRepository {
         return new ArrayList<>(splits);
     }
 
-
+    /**
+     * @param email an email, or null.
+     * @return the key the email is indexed under.
+     */
+    private static String key(final String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
 }
@@ -1,20 +1,59 @@
 package org.poo.repository;
 
 import org.poo.entities.Transaction;
-import java.util.ArrayList;
+import org.poo.repository.storage.KeyIndex;
+import org.poo.repository.storage.RowSeries;
+import org.poo.repository.storage.StorageBackend;
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.StringRegistry;
+import java.util.AbstractList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.IntConsumer;
 
 /**
  * Repository class for managing transaction records.
+ * Besides the full log, every transaction is appended to posting lists keyed
+ * by email and by involved IBAN, so per-user and per-account queries only
+ * touch their own transactions. The log and the lists are kept in timestamp
+ * order and can be queried by time window.
+ * The transactions' fields live in a {@link TransactionStore}, on or off the
+ * heap as {@link TransactionStores} is configured; the log and the posting
+ * lists only hold row numbers, and {@link Transaction} views over the rows
+ * are created as the results are read. Readers that only print or sum the
+ * rows can walk them with the forEachRow methods instead, which hand out
+ * row numbers to read through the store and allocate nothing per row.
  */
 public final class TransactionRepository {
-    private final List<Transaction> transactions;
+    private final TransactionStore rows;
+    private final StorageBackend storage;
+    private final RowSeries transactions;
+    private final KeyIndex<String, RowSeries> transactionsByEmail;
+    private final KeyIndex<String, RowSeries> transactionsByAccount;
 
     /**
      * Constructs a new TransactionRepository with an empty list of transactions.
+     *
+     * @param storage    the backend the posting lists are kept on.
+     * @param strings    the registry the journal keeps strings as ids of.
+     * @param currencies the registry the journal keeps currencies as ids of.
+     */
+    public TransactionRepository(final StorageBackend storage, final StringRegistry strings,
+                                 final CurrencyRegistry currencies) {
+        this.storage = storage;
+        this.rows = TransactionStores.fromConfiguration(strings, currencies);
+        this.transactions = storage.newRowSeries();
+        this.transactionsByEmail = storage.newKeyIndex();
+        this.transactionsByAccount = storage.newKeyIndex();
+    }
+
+    /**
+     * @return the store new transactions are created in, before they are
+     *         recorded, and the rows handed out by the forEachRow methods are read from.
      */
-    public TransactionRepository() {
-        this.transactions = new ArrayList<>();
+    public TransactionStore getStore() {
+        return rows;
     }
 
     /**
@@ -23,34 +62,117 @@ public final class TransactionRepository {
      * @param transaction the transaction to be saved.
      */
     public void saveTransaction(final Transaction transaction) {
-        transactions.add(transaction);
+        append(transaction);
     }
 
     /**
      * Retrieves all transactions from the repository.
      *
-     * @return a list of all recorded transactions.
+     * @return a read-only list of all recorded transactions, in timestamp order.
      */
     public List<Transaction> getAllTransactions() {
-        return new ArrayList<>(transactions);
+        return view(transactions, 0, transactions.size());
     }
 
     /**
      * Retrieves all transactions associated with a specific account.
      *
      * @param account the account for filtering transactions.
-     * @return a list of transactions associated with the given account.
+     * @return a read-only list of transactions associated with the given account.
      */
     public List<Transaction> getTransactionsByAccount(final String account) {
-        List<Transaction> result = new ArrayList<>();
-        for (Transaction tx : transactions) {
-            if (account.equals(tx.getFromAccount()) || account.equals(tx.getToAccount())) {
-                result.add(tx);
-            }
+        return all(transactionsByAccount.get(account));
+    }
+
+    /**
+     * Retrieves the transactions of an account inside a time window.
+     *
+     * @param account        the account for filtering transactions.
+     * @param startTimestamp the start of the window (inclusive).
+     * @param endTimestamp   the end of the window (inclusive).
+     * @return a read-only list of the account's transactions in the window.
+     */
+    public List<Transaction> getTransactionsByAccount(final String account,
+                                                      final int startTimestamp,
+                                                      final int endTimestamp) {
+        return range(transactionsByAccount.get(account), startTimestamp, endTimestamp);
+    }
+
+    /**
+     * Retrieves all transactions recorded for a specific user, in timestamp order.
+     *
+     * @param email the email of the user.
+     * @return a read-only list of the user's transactions.
+     */
+    public List<Transaction> getTransactionsByEmail(final String email) {
+        return all(transactionsByEmail.get(email));
+    }
+
+    /**
+     * Retrieves the transactions of a user inside a time window.
+     *
+     * @param email          the email of the user.
+     * @param startTimestamp the start of the window (inclusive).
+     * @param endTimestamp   the end of the window (inclusive).
+     * @return a read-only list of the user's transactions in the window.
+     */
+    public List<Transaction> getTransactionsByEmail(final String email,
+                                                    final int startTimestamp,
+                                                    final int endTimestamp) {
+        return range(transactionsByEmail.get(email), startTimestamp, endTimestamp);
+    }
+
+    /**
+     * Passes the row of every transaction recorded for a user to an action,
+     * in timestamp order.
+     *
+     * @param email  the email of the user.
+     * @param action receives each row of the {@link #getStore() store}.
+     */
+    public void forEachRowByEmail(final String email, final IntConsumer action) {
+        final RowSeries series = transactionsByEmail.get(email);
+        if (series != null) {
+            forEachRow(series, 0, series.size(), action);
         }
-        return result;
     }
 
+    /**
+     * Passes the row of every transaction of a user inside a time window to
+     * an action, in timestamp order.
+     *
+     * @param email          the email of the user.
+     * @param startTimestamp the start of the window (inclusive).
+     * @param endTimestamp   the end of the window (inclusive).
+     * @param action         receives each row of the {@link #getStore() store}.
+     */
+    public void forEachRowByEmail(final String email, final int startTimestamp,
+                                  final int endTimestamp, final IntConsumer action) {
+        forEachRowIn(transactionsByEmail.get(email), startTimestamp, endTimestamp, action);
+    }
+
+    /**
+     * Passes the row of every transaction of an account inside a time window
+     * to an action, in timestamp order.
+     *
+     * @param account        the account for filtering transactions.
+     * @param startTimestamp the start of the window (inclusive).
+     * @param endTimestamp   the end of the window (inclusive).
+     * @param action         receives each row of the {@link #getStore() store}.
+     */
+    public void forEachRowByAccount(final String account, final int startTimestamp,
+                                    final int endTimestamp, final IntConsumer action) {
+        forEachRowIn(transactionsByAccount.get(account), startTimestamp, endTimestamp, action);
+    }
+
+    /**
+     * Retrieves all transactions recorded at a specific timestamp.
+     *
+     * @param timestamp the timestamp to match.
+     * @return a read-only list of transactions with the given timestamp.
+     */
+    public List<Transaction> getTransactionsByTimestamp(final int timestamp) {
+        return range(transactions, timestamp, timestamp);
+    }
 
     /**
      * Records a new transaction to the repository.
@@ -58,6 +180,91 @@ public final class TransactionRepository {
      * @param transaction the transaction to be recorded.
      */
     public void recordTransaction(final Transaction transaction) {
-        transactions.add(transaction);
+        append(transaction);
+    }
+
+    /**
+     * Appends a transaction's row to the log and to every posting list it belongs to.
+     *
+     * @param transaction the transaction to append.
+     * @throws IllegalArgumentException if the transaction was not created in this
+     *                                  repository's store.
+     */
+    private void append(final Transaction transaction) {
+        if (transaction.getStore() != rows) {
+            throw new IllegalArgumentException(
+                    "Transaction was created outside the repository's store");
+        }
+        final int row = transaction.getRow();
+        final int timestamp = rows.getTimestamp(row);
+        final String fromAccount = rows.getFromAccount(row);
+        final String toAccount = rows.getToAccount(row);
+
+        transactions.add(row, timestamp);
+        post(transactionsByEmail, rows.getEmail(row), row, timestamp);
+
+        if (fromAccount != null) {
+            post(transactionsByAccount, fromAccount, row, timestamp);
+        }
+        if (toAccount != null && !Objects.equals(toAccount, fromAccount)) {
+            post(transactionsByAccount, toAccount, row, timestamp);
+        }
+    }
+
+    private void post(final KeyIndex<String, RowSeries> index, final String key,
+                      final int row, final int timestamp) {
+        index.computeIfAbsent(key, k -> storage.newRowSeries()).add(row, timestamp);
+    }
+
+    private List<Transaction> all(final RowSeries series) {
+        return series == null ? Collections.emptyList() : view(series, 0, series.size());
+    }
+
+    private List<Transaction> range(final RowSeries series, final int start, final int end) {
+        if (series == null || start > end) {
+            return Collections.emptyList();
+        }
+        return view(series, series.lowerBound(start), series.upperBound(end));
+    }
+
+    private void forEachRowIn(final RowSeries series, final int start, final int end,
+                              final IntConsumer action) {
+        if (series != null && start <= end) {
+            forEachRow(series, series.lowerBound(start), series.upperBound(end), action);
+        }
+    }
+
+    private static void forEachRow(final RowSeries series, final int from, final int to,
+                                   final IntConsumer action) {
+        for (int position = from; position < to; position++) {
+            action.accept(series.rowAt(position));
+        }
+    }
+
+    /**
+     * Views the rows of a series between two positions as transactions.
+     * The result is only valid until the next transaction is recorded.
+     *
+     * @param series the series holding the rows.
+     * @param from   the first position (inclusive).
+     * @param to     the last position (exclusive).
+     * @return a read-only list creating a view per row as it is read.
+     */
+    private List<Transaction> view(final RowSeries series, final int from, final int to) {
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(final int index) {
+                Objects.checkIndex(index, to - from);
+                return new Transaction(rows, series.rowAt(from + index));
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
     }
 }
@@ -0,0 +1,366 @@
+package org.poo.repository;
+
+import org.poo.entities.TransactionDescription;
+import org.poo.entities.TransactionStatus;
+import org.poo.entities.TransactionType;
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.StringRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Row storage for transactions: every transaction is a fixed set of
+ * primitive fields, one row per transaction. Strings are kept as ids of
+ * the bank's {@link StringRegistry}, currencies as ids of its
+ * {@link CurrencyRegistry}, enums as ordinals and amounts as
+ * {@link org.poo.utils.Money} minor units, so a row costs a few dozen bytes
+ * and no objects. The lists only split payments carry are kept in side
+ * tables and referenced from the row by position.
+ * <p>
+ * A description the bank writes itself is kept as its
+ * {@link TransactionDescription} code and the number it quotes, and only
+ * rendered to text when it is read.
+ * <p>
+ * Implementations only decide where the primitive fields live; the typed
+ * accessors are shared. Reading a row through them never allocates.
+ * {@link org.poo.entities.Transaction} objects are flyweight views over a row.
+ */
+public abstract class TransactionStore {
+    // long fields
+    protected static final int ID = 0;
+    protected static final int AMOUNT = 1;
+    protected static final int TOTAL_AMOUNT = 2; // raw bits of a double
+    protected static final int DESCRIPTION_ARGUMENT = 3; // raw bits of a double
+    protected static final int LONG_FIELDS = 4;
+
+    // int fields
+    protected static final int TIMESTAMP = 0;
+    protected static final int CURRENCY = 1;
+    protected static final int EMAIL = 2;
+    protected static final int FROM_ACCOUNT = 3;
+    protected static final int TO_ACCOUNT = 4;
+    protected static final int DESCRIPTION = 5;
+    protected static final int CARD_NUMBER = 6;
+    protected static final int COMMERCIANT = 7;
+    protected static final int ERROR = 8;
+    protected static final int SPLIT_PAYMENT_TYPE = 9;
+    protected static final int INVOLVED_ACCOUNTS = 10;
+    protected static final int AMOUNT_FOR_USERS = 11;
+    protected static final int INT_FIELDS = 12;
+
+    // byte fields
+    protected static final int TYPE = 0;
+    protected static final int STATUS = 1;
+    protected static final int FLAGS = 2;
+    protected static final int BYTE_FIELDS = 3;
+
+    private static final int NO_LIST = -1;
+    // Description codes sit below StringRegistry.NONE
+    private static final int FIRST_DESCRIPTION_CODE = StringRegistry.NONE - 1;
+    private static final byte NO_ORDINAL = -1;
+    private static final byte SPENDING = 1;
+    private static final byte DEPOSIT = 2;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+    private static final TransactionDescription[] DESCRIPTIONS = TransactionDescription.values();
+
+    private final StringRegistry strings;
+    private final CurrencyRegistry currencies;
+    private final List<List<String>> involvedAccountLists = new ArrayList<>();
+    private final List<List<Double>> amountForUsersLists = new ArrayList<>();
+
+    /**
+     * @param strings    the registry the row's strings are kept as ids of.
+     * @param currencies the registry the row's currencies are kept as ids of.
+     */
+    protected TransactionStore(final StringRegistry strings,
+                               final CurrencyRegistry currencies) {
+        this.strings = strings;
+        this.currencies = currencies;
+    }
+
+    /**
+     * @return the number of rows.
+     */
+    public abstract int size();
+
+    /**
+     * Reserves the next row. Its fields may hold anything until they are set.
+     *
+     * @return the new row.
+     */
+    protected abstract int allocateRow();
+
+    protected abstract long getLong(int row, int field);
+
+    protected abstract void putLong(int row, int field, long value);
+
+    protected abstract int getInt(int row, int field);
+
+    protected abstract void putInt(int row, int field, int value);
+
+    protected abstract byte getByte(int row, int field);
+
+    protected abstract void putByte(int row, int field, byte value);
+
+    /**
+     * Appends an empty row: no strings, no type or status, zero amounts.
+     *
+     * @return the new row.
+     */
+    public final int newRow() {
+        final int row = allocateRow();
+        for (int field = 0; field < LONG_FIELDS; field++) {
+            putLong(row, field, 0L);
+        }
+        for (int field = 0; field < INT_FIELDS; field++) {
+            putInt(row, field, StringRegistry.NONE);
+        }
+        putInt(row, TIMESTAMP, 0);
+        putInt(row, CURRENCY, CurrencyRegistry.NONE);
+        putInt(row, INVOLVED_ACCOUNTS, NO_LIST);
+        putInt(row, AMOUNT_FOR_USERS, NO_LIST);
+        putByte(row, TYPE, NO_ORDINAL);
+        putByte(row, STATUS, NO_ORDINAL);
+        putByte(row, FLAGS, (byte) 0);
+        return row;
+    }
+
+    // Typed accessors, by row
+
+    public final long getId(final int row) {
+        return getLong(row, ID);
+    }
+
+    public final void setId(final int row, final long id) {
+        putLong(row, ID, id);
+    }
+
+    public final int getTimestamp(final int row) {
+        return getInt(row, TIMESTAMP);
+    }
+
+    public final void setTimestamp(final int row, final int timestamp) {
+        putInt(row, TIMESTAMP, timestamp);
+    }
+
+    public final TransactionType getType(final int row) {
+        final byte ordinal = getByte(row, TYPE);
+        return ordinal == NO_ORDINAL ? null : TYPES[ordinal];
+    }
+
+    public final void setType(final int row, final TransactionType type) {
+        putByte(row, TYPE, type == null ? NO_ORDINAL : (byte) type.ordinal());
+    }
+
+    public final TransactionStatus getStatus(final int row) {
+        final byte ordinal = getByte(row, STATUS);
+        return ordinal == NO_ORDINAL ? null : STATUSES[ordinal];
+    }
+
+    public final void setStatus(final int row, final TransactionStatus status) {
+        putByte(row, STATUS, status == null ? NO_ORDINAL : (byte) status.ordinal());
+    }
+
+    public final boolean isSpending(final int row) {
+        return (getByte(row, FLAGS) & SPENDING) != 0;
+    }
+
+    public final void setSpending(final int row, final boolean spending) {
+        setFlag(row, SPENDING, spending);
+    }
+
+    public final boolean isDeposit(final int row) {
+        return (getByte(row, FLAGS) & DEPOSIT) != 0;
+    }
+
+    public final void setDeposit(final int row, final boolean deposit) {
+        setFlag(row, DEPOSIT, deposit);
+    }
+
+    public final long getAmount(final int row) {
+        return getLong(row, AMOUNT);
+    }
+
+    public final void setAmount(final int row, final long amount) {
+        putLong(row, AMOUNT, amount);
+    }
+
+    public final double getTotalAmount(final int row) {
+        return Double.longBitsToDouble(getLong(row, TOTAL_AMOUNT));
+    }
+
+    public final void setTotalAmount(final int row, final double totalAmount) {
+        putLong(row, TOTAL_AMOUNT, Double.doubleToRawLongBits(totalAmount));
+    }
+
+    public final int getCurrencyId(final int row) {
+        return getInt(row, CURRENCY);
+    }
+
+    public final void setCurrencyId(final int row, final int currencyId) {
+        putInt(row, CURRENCY, currencyId);
+    }
+
+    public final String getCurrency(final int row) {
+        return currencies.codeOf(getCurrencyId(row));
+    }
+
+    public final void setCurrency(final int row, final String currency) {
+        setCurrencyId(row, currencies.idOf(currency));
+    }
+
+    public final String getEmail(final int row) {
+        return getString(row, EMAIL);
+    }
+
+    public final void setEmail(final int row, final String email) {
+        putString(row, EMAIL, email);
+    }
+
+    public final String getFromAccount(final int row) {
+        return getString(row, FROM_ACCOUNT);
+    }
+
+    public final void setFromAccount(final int row, final String fromAccount) {
+        putString(row, FROM_ACCOUNT, fromAccount);
+    }
+
+    public final String getToAccount(final int row) {
+        return getString(row, TO_ACCOUNT);
+    }
+
+    public final void setToAccount(final int row, final String toAccount) {
+        putString(row, TO_ACCOUNT, toAccount);
+    }
+
+    /**
+     * Returns the description of a row, rendering it if the bank wrote it.
+     *
+     * @param row the row.
+     * @return the description, or null if there is none.
+     */
+    public final String getDescription(final int row) {
+        final TransactionDescription code = getDescriptionCode(row);
+        if (code == null) {
+            return getString(row, DESCRIPTION);
+        }
+        return code.render(getDescriptionArgument(row),
+                getCurrency(row));
+    }
+
+    /**
+     * @param row the row.
+     * @return the description the bank wrote on the row, or null if the
+     *         description is free text or missing.
+     */
+    public final TransactionDescription getDescriptionCode(final int row) {
+        final int value = getInt(row, DESCRIPTION);
+        return value > FIRST_DESCRIPTION_CODE ? null : DESCRIPTIONS[FIRST_DESCRIPTION_CODE - value];
+    }
+
+    public final void setDescription(final int row, final String description) {
+        putString(row, DESCRIPTION, description);
+    }
+
+    /**
+     * Sets a description the bank writes itself. A description that quotes
+     * a number reads it from {@link #setDescriptionArgument}.
+     *
+     * @param row         the row.
+     * @param description the description.
+     */
+    public final void setDescription(final int row, final TransactionDescription description) {
+        putInt(row, DESCRIPTION, FIRST_DESCRIPTION_CODE - description.ordinal());
+    }
+
+    public final double getDescriptionArgument(final int row) {
+        return Double.longBitsToDouble(getLong(row, DESCRIPTION_ARGUMENT));
+    }
+
+    public final void setDescriptionArgument(final int row, final double argument) {
+        putLong(row, DESCRIPTION_ARGUMENT, Double.doubleToRawLongBits(argument));
+    }
+
+    public final String getCardNumber(final int row) {
+        return getString(row, CARD_NUMBER);
+    }
+
+    public final void setCardNumber(final int row, final String cardNumber) {
+        putString(row, CARD_NUMBER, cardNumber);
+    }
+
+    public final String getCommerciant(final int row) {
+        return getString(row, COMMERCIANT);
+    }
+
+    public final void setCommerciant(final int row, final String commerciant) {
+        putString(row, COMMERCIANT, commerciant);
+    }
+
+    public final String getError(final int row) {
+        return getString(row, ERROR);
+    }
+
+    public final void setError(final int row, final String error) {
+        putString(row, ERROR, error);
+    }
+
+    public final String getSplitPaymentType(final int row) {
+        return getString(row, SPLIT_PAYMENT_TYPE);
+    }
+
+    public final void setSplitPaymentType(final int row, final String splitPaymentType) {
+        putString(row, SPLIT_PAYMENT_TYPE, splitPaymentType);
+    }
+
+    public final List<String> getInvolvedAccounts(final int row) {
+        return getList(involvedAccountLists, row, INVOLVED_ACCOUNTS);
+    }
+
+    public final void setInvolvedAccounts(final int row, final List<String> accounts) {
+        putList(involvedAccountLists, row, INVOLVED_ACCOUNTS, accounts);
+    }
+
+    public final List<Double> getAmountForUsers(final int row) {
+        return getList(amountForUsersLists, row, AMOUNT_FOR_USERS);
+    }
+
+    public final void setAmountForUsers(final int row, final List<Double> amounts) {
+        putList(amountForUsersLists, row, AMOUNT_FOR_USERS, amounts);
+    }
+
+    private String getString(final int row, final int field) {
+        return strings.stringOf(getInt(row, field));
+    }
+
+    private void putString(final int row, final int field, final String value) {
+        putInt(row, field, strings.idOf(value));
+    }
+
+    private void setFlag(final int row, final byte flag, final boolean value) {
+        final byte flags = getByte(row, FLAGS);
+        putByte(row, FLAGS, (byte) (value ? flags | flag : flags & ~flag));
+    }
+
+    private <T> List<T> getList(final List<List<T>> lists, final int row, final int field) {
+        final int position = getInt(row, field);
+        return position == NO_LIST ? null : lists.get(position);
+    }
+
+    /**
+     * Points a row at a list in a side table, reusing the row's slot if it has one.
+     */
+    private <T> void putList(final List<List<T>> lists, final int row, final int field,
+                             final List<T> value) {
+        final int position = getInt(row, field);
+        if (position != NO_LIST) {
+            lists.set(position, value);
+        } else if (value != null) {
+            putInt(row, field, lists.size());
+            lists.add(value);
+        }
+    }
+}
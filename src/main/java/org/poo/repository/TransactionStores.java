@@ -0,0 +1,57 @@
+package org.poo.repository;
+
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.StringRegistry;
+
+/**
+ * Selects where the transaction journal keeps its records.
+ */
+public final class TransactionStores {
+    /**
+     * System property naming the journal to use ("heap" or "offheap").
+     */
+    public static final String PROPERTY = "bank.journal";
+    public static final String HEAP = "heap";
+    public static final String OFF_HEAP = "offheap";
+
+    /**
+     * for coding style
+     */
+    private TransactionStores() {
+    }
+
+    /**
+     * Creates the journal named by the {@value #PROPERTY} system property,
+     * falling back to the heap journal when it is not set.
+     *
+     * @param strings    the registry the journal keeps strings as ids of.
+     * @param currencies the registry the journal keeps currencies as ids of.
+     * @return the configured journal.
+     * @throws IllegalArgumentException if the property names an unknown journal.
+     */
+    public static TransactionStore fromConfiguration(final StringRegistry strings,
+                                                     final CurrencyRegistry currencies) {
+        return forName(System.getProperty(PROPERTY, HEAP), strings, currencies);
+    }
+
+    /**
+     * Creates a journal by name.
+     *
+     * @param name       the name of the journal.
+     * @param strings    the registry the journal keeps strings as ids of.
+     * @param currencies the registry the journal keeps currencies as ids of.
+     * @return a new, empty journal.
+     * @throws IllegalArgumentException if the name is unknown.
+     */
+    public static TransactionStore forName(final String name, final StringRegistry strings,
+                                           final CurrencyRegistry currencies) {
+        switch (name) {
+            case HEAP:
+                return new HeapTransactionStore(strings, currencies);
+            case OFF_HEAP:
+                return new OffHeapTransactionStore(strings, currencies);
+            default:
+                throw new IllegalArgumentException("Unknown transaction journal: " + name);
+        }
+    }
+}
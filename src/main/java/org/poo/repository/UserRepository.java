@@ -1,22 +1,29 @@
 package org.poo.repository;
 
 import org.poo.entities.User;
+import org.poo.repository.storage.KeyIndex;
+import org.poo.repository.storage.StorageBackend;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Repository class for managing user records.
+ * Users are indexed by email.
  * This class is not designed for subclassing. If subclassing is necessary,
  * consider making specific methods extensible instead.
  */
 public final class UserRepository {
     private final List<User> users;
+    private final KeyIndex<String, User> usersByEmail;
 
     /**
      * Constructs a new UserRepository with an empty list of users.
+     *
+     * @param storage the backend the email index is kept on.
      */
-    public UserRepository() {
+    public UserRepository(final StorageBackend storage) {
         this.users = new ArrayList<>();
+        this.usersByEmail = storage.newKeyIndex();
     }
 
     /**
@@ -26,6 +33,7 @@ public final class UserRepository {
      */
     public void addUser(final User user) {
         users.add(user);
+        usersByEmail.putIfAbsent(user.getEmail(), user);
     }
 
     /**
@@ -44,12 +52,7 @@ public final class UserRepository {
      * @return the user with the matching email, or null if no such user exists.
      */
     public User findUserByEmail(final String email) {
-        for (User user : users) {
-            if (user.getEmail().equals(email)) {
-                return user;
-            }
-        }
-        return null;
+        return usersByEmail.get(email);
     }
 
     /**
@@ -59,12 +62,7 @@ public final class UserRepository {
      * @return true if the user exists, false otherwise.
      */
     public boolean userExists(final String email) {
-        for (User user : users) {
-            if (user.getEmail().equals(email)) {
-                return true;
-            }
-        }
-        return false;
+        return usersByEmail.containsKey(email);
     }
 
     /**
@@ -74,10 +72,15 @@ public final class UserRepository {
      * @throws IllegalArgumentException if no user is found with the given email.
      */
     public void deleteUser(final String email) {
-        User user = findUserByEmail(email);
+        User user = usersByEmail.remove(email);
         if (user == null) {
             throw new IllegalArgumentException("User not found with email: " + email);
         }
         users.remove(user);
+
+        // Let a user shadowed by the deleted one become visible again
+        for (User remaining : users) {
+            usersByEmail.putIfAbsent(remaining.getEmail(), remaining);
+        }
     }
 }
@@ -0,0 +1,80 @@
+package org.poo.repository.storage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * High-performance backend: keys are hashed and time series keep a
+ * primitive timestamp array searched with binary search; row series keep
+ * their rows in a primitive array as well.
+ */
+public final class IndexedStorageBackend implements StorageBackend {
+
+    @Override
+    public <K, V> KeyIndex<K, V> newKeyIndex() {
+        return new HashKeyIndex<>();
+    }
+
+    @Override
+    public <T> TimeSeries<T> newTimeSeries(final ToIntFunction<T> timestampOf) {
+        return new TimestampIndex<>(timestampOf);
+    }
+
+    @Override
+    public RowSeries newRowSeries() {
+        return new TimestampRowIndex();
+    }
+
+    /**
+     * Key index backed by a {@link HashMap}.
+     *
+     * @param <K> the type of the keys.
+     * @param <V> the type of the values.
+     */
+    private static final class HashKeyIndex<K, V> implements KeyIndex<K, V> {
+        private final Map<K, V> entries = new HashMap<>();
+
+        @Override
+        public V get(final K key) {
+            return entries.get(key);
+        }
+
+        @Override
+        public boolean containsKey(final K key) {
+            return entries.containsKey(key);
+        }
+
+        @Override
+        public V put(final K key, final V value) {
+            return entries.put(key, value);
+        }
+
+        @Override
+        public V putIfAbsent(final K key, final V value) {
+            return entries.putIfAbsent(key, value);
+        }
+
+        @Override
+        public V computeIfAbsent(final K key, final Function<? super K, ? extends V> factory) {
+            return entries.computeIfAbsent(key, factory);
+        }
+
+        @Override
+        public V remove(final K key) {
+            return entries.remove(key);
+        }
+
+        @Override
+        public boolean remove(final K key, final V value) {
+            return entries.remove(key, value);
+        }
+
+        @Override
+        public void forEach(final BiConsumer<? super K, ? super V> action) {
+            entries.forEach(action);
+        }
+    }
+}
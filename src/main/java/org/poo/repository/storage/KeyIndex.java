@@ -0,0 +1,75 @@
+package org.poo.repository.storage;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Mapping from unique keys to values, provided by a {@link StorageBackend}.
+ * Null keys are allowed.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public interface KeyIndex<K, V> {
+
+    /**
+     * @param key the key to look up.
+     * @return the value stored under the key, or null if there is none.
+     */
+    V get(K key);
+
+    /**
+     * @param key the key to look up.
+     * @return true if a value is stored under the key.
+     */
+    boolean containsKey(K key);
+
+    /**
+     * Stores a value, replacing the previous one.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the previous value, or null if there was none.
+     */
+    V put(K key, V value);
+
+    /**
+     * Stores a value only if the key is free.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the value already stored under the key, or null if it was stored.
+     */
+    V putIfAbsent(K key, V value);
+
+    /**
+     * Returns the value stored under a key, creating it first if the key is free.
+     *
+     * @param key     the key.
+     * @param factory creates the value from the key.
+     * @return the stored value.
+     */
+    V computeIfAbsent(K key, Function<? super K, ? extends V> factory);
+
+    /**
+     * @param key the key to remove.
+     * @return the removed value, or null if there was none.
+     */
+    V remove(K key);
+
+    /**
+     * Removes a key only if it is mapped to the given value.
+     *
+     * @param key   the key to remove.
+     * @param value the expected value.
+     * @return true if the key was removed.
+     */
+    boolean remove(K key, V value);
+
+    /**
+     * Visits every key and value, in no particular order.
+     *
+     * @param action the action to run for every entry.
+     */
+    void forEach(BiConsumer<? super K, ? super V> action);
+}
@@ -0,0 +1,220 @@
+package org.poo.repository.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Simple backend keeping everything in plain lists.
+ * Every lookup is a linear scan, which makes it easy to reason about
+ * and a baseline to benchmark the indexed backend against.
+ */
+public final class ListStorageBackend implements StorageBackend {
+
+    @Override
+    public <K, V> KeyIndex<K, V> newKeyIndex() {
+        return new ListKeyIndex<>();
+    }
+
+    @Override
+    public <T> TimeSeries<T> newTimeSeries(final ToIntFunction<T> timestampOf) {
+        return new ListTimeSeries<>(timestampOf);
+    }
+
+    @Override
+    public RowSeries newRowSeries() {
+        return new ListRowSeries();
+    }
+
+    /**
+     * Key index stored as two parallel lists of keys and values.
+     *
+     * @param <K> the type of the keys.
+     * @param <V> the type of the values.
+     */
+    private static final class ListKeyIndex<K, V> implements KeyIndex<K, V> {
+        private final List<K> keys = new ArrayList<>();
+        private final List<V> values = new ArrayList<>();
+
+        @Override
+        public V get(final K key) {
+            final int position = indexOf(key);
+            return position < 0 ? null : values.get(position);
+        }
+
+        @Override
+        public boolean containsKey(final K key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public V put(final K key, final V value) {
+            final int position = indexOf(key);
+            if (position < 0) {
+                keys.add(key);
+                values.add(value);
+                return null;
+            }
+            return values.set(position, value);
+        }
+
+        @Override
+        public V putIfAbsent(final K key, final V value) {
+            final V existing = get(key);
+            if (existing != null) {
+                return existing;
+            }
+            put(key, value);
+            return null;
+        }
+
+        @Override
+        public V computeIfAbsent(final K key, final Function<? super K, ? extends V> factory) {
+            final V existing = get(key);
+            if (existing != null) {
+                return existing;
+            }
+            final V created = factory.apply(key);
+            if (created != null) {
+                put(key, created);
+            }
+            return created;
+        }
+
+        @Override
+        public V remove(final K key) {
+            final int position = indexOf(key);
+            if (position < 0) {
+                return null;
+            }
+            keys.remove(position);
+            return values.remove(position);
+        }
+
+        @Override
+        public boolean remove(final K key, final V value) {
+            final int position = indexOf(key);
+            if (position < 0 || !Objects.equals(values.get(position), value)) {
+                return false;
+            }
+            keys.remove(position);
+            values.remove(position);
+            return true;
+        }
+
+        @Override
+        public void forEach(final BiConsumer<? super K, ? super V> action) {
+            for (int i = 0; i < keys.size(); i++) {
+                action.accept(keys.get(i), values.get(i));
+            }
+        }
+
+        /**
+         * @param key the key to look for.
+         * @return the position of the key, or -1 if it is not stored.
+         */
+        private int indexOf(final K key) {
+            for (int i = 0; i < keys.size(); i++) {
+                if (Objects.equals(keys.get(i), key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Time series stored as a single list, filtered on every range query.
+     *
+     * @param <T> the type of the entries.
+     */
+    private static final class ListTimeSeries<T> implements TimeSeries<T> {
+        private final ToIntFunction<T> timestampOf;
+        private final List<T> entries = new ArrayList<>();
+
+        ListTimeSeries(final ToIntFunction<T> timestampOf) {
+            this.timestampOf = timestampOf;
+        }
+
+        @Override
+        public void add(final T entry) {
+            final int timestamp = timestampOf.applyAsInt(entry);
+            int position = entries.size();
+            while (position > 0
+                    && timestampOf.applyAsInt(entries.get(position - 1)) > timestamp) {
+                position--;
+            }
+            entries.add(position, entry);
+        }
+
+        @Override
+        public List<T> all() {
+            return Collections.unmodifiableList(entries);
+        }
+
+        @Override
+        public List<T> range(final int start, final int end) {
+            final List<T> result = new ArrayList<>();
+            for (T entry : entries) {
+                final int timestamp = timestampOf.applyAsInt(entry);
+                if (timestamp >= start && timestamp <= end) {
+                    result.add(entry);
+                }
+            }
+            return Collections.unmodifiableList(result);
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Row series stored as two parallel lists of rows and timestamps,
+     * scanned from the start on every search.
+     */
+    private static final class ListRowSeries implements RowSeries {
+        private final List<Integer> rows = new ArrayList<>();
+        private final List<Integer> timestamps = new ArrayList<>();
+
+        @Override
+        public void add(final int row, final int timestamp) {
+            final int position = upperBound(timestamp);
+            rows.add(position, row);
+            timestamps.add(position, timestamp);
+        }
+
+        @Override
+        public int rowAt(final int position) {
+            return rows.get(position);
+        }
+
+        @Override
+        public int lowerBound(final int timestamp) {
+            int position = 0;
+            while (position < timestamps.size() && timestamps.get(position) < timestamp) {
+                position++;
+            }
+            return position;
+        }
+
+        @Override
+        public int upperBound(final int timestamp) {
+            int position = 0;
+            while (position < timestamps.size() && timestamps.get(position) <= timestamp) {
+                position++;
+            }
+            return position;
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.poo.repository.storage;
+
+/**
+ * Stream of record rows kept in timestamp order, provided by a {@link StorageBackend}.
+ * Only the row numbers and their timestamps are kept, so the records stay
+ * wherever their repository stores them. Rows with equal timestamps keep
+ * their insertion order.
+ */
+public interface RowSeries {
+
+    /**
+     * Adds a row after every row with a lower or equal timestamp.
+     *
+     * @param row       the row to add.
+     * @param timestamp the timestamp of the row.
+     */
+    void add(int row, int timestamp);
+
+    /**
+     * @param position the position, in timestamp order.
+     * @return the row at that position.
+     */
+    int rowAt(int position);
+
+    /**
+     * @param timestamp the timestamp to look for.
+     * @return the first position holding a timestamp greater or equal to it.
+     */
+    int lowerBound(int timestamp);
+
+    /**
+     * @param timestamp the timestamp to look for.
+     * @return the first position holding a timestamp strictly greater than it.
+     */
+    int upperBound(int timestamp);
+
+    /**
+     * @return the number of rows.
+     */
+    int size();
+}
@@ -0,0 +1,36 @@
+package org.poo.repository.storage;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Storage engine the repositories keep their indexes on.
+ * A backend only decides how keys and time windows are looked up;
+ * repositories decide what is indexed and keep the records themselves.
+ */
+public interface StorageBackend {
+
+    /**
+     * Creates an empty key index.
+     *
+     * @param <K> the type of the keys.
+     * @param <V> the type of the values.
+     * @return a new key index.
+     */
+    <K, V> KeyIndex<K, V> newKeyIndex();
+
+    /**
+     * Creates an empty stream of entries kept in timestamp order.
+     *
+     * @param timestampOf extracts the timestamp of an entry.
+     * @param <T>         the type of the entries.
+     * @return a new time series.
+     */
+    <T> TimeSeries<T> newTimeSeries(ToIntFunction<T> timestampOf);
+
+    /**
+     * Creates an empty stream of record rows kept in timestamp order.
+     *
+     * @return a new row series.
+     */
+    RowSeries newRowSeries();
+}
@@ -0,0 +1,48 @@
+package org.poo.repository.storage;
+
+/**
+ * Selects the storage backend the repositories are built on.
+ */
+public final class StorageBackends {
+    /**
+     * System property naming the backend to use ("indexed" or "list").
+     */
+    public static final String PROPERTY = "bank.storage";
+    public static final String INDEXED = "indexed";
+    public static final String LIST = "list";
+
+    /**
+     * for coding style
+     */
+    private StorageBackends() {
+    }
+
+    /**
+     * Creates the backend named by the {@value #PROPERTY} system property,
+     * falling back to the indexed backend when it is not set.
+     *
+     * @return the configured backend.
+     * @throws IllegalArgumentException if the property names an unknown backend.
+     */
+    public static StorageBackend fromConfiguration() {
+        return forName(System.getProperty(PROPERTY, INDEXED));
+    }
+
+    /**
+     * Creates a backend by name.
+     *
+     * @param name the name of the backend.
+     * @return a new backend.
+     * @throws IllegalArgumentException if the name is unknown.
+     */
+    public static StorageBackend forName(final String name) {
+        switch (name) {
+            case INDEXED:
+                return new IndexedStorageBackend();
+            case LIST:
+                return new ListStorageBackend();
+            default:
+                throw new IllegalArgumentException("Unknown storage backend: " + name);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.poo.repository.storage;
+
+import java.util.List;
+
+/**
+ * Stream of entries kept in timestamp order, provided by a {@link StorageBackend}.
+ * Entries with equal timestamps keep their insertion order.
+ *
+ * @param <T> the type of the entries.
+ */
+public interface TimeSeries<T> {
+
+    /**
+     * Adds an entry after every entry with a lower or equal timestamp.
+     *
+     * @param entry the entry to add.
+     */
+    void add(T entry);
+
+    /**
+     * @return a read-only view of all entries, in timestamp order.
+     */
+    List<T> all();
+
+    /**
+     * Returns the entries whose timestamp lies in [start, end].
+     * The result is only valid until the next call to {@link #add}.
+     *
+     * @param start the first timestamp of the window (inclusive).
+     * @param end   the last timestamp of the window (inclusive).
+     * @return a read-only list of the entries inside the window.
+     */
+    List<T> range(int start, int end);
+
+    /**
+     * @return the number of entries.
+     */
+    int size();
+}
@@ -0,0 +1,122 @@
+package org.poo.repository.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Indexed time series: an append-mostly stream of entries kept in timestamp order.
+ * Timestamps are mirrored in a primitive array so that a
+ * [start, end] window is found with two binary searches and
+ * returned as a view, without touching entries outside it.
+ * Entries with equal timestamps keep their insertion order.
+ *
+ * @param <T> the type of the indexed entries.
+ */
+final class TimestampIndex<T> implements TimeSeries<T> {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final ToIntFunction<T> timestampOf;
+    private final List<T> entries = new ArrayList<>();
+    private int[] timestamps = new int[INITIAL_CAPACITY];
+
+    /**
+     * @param timestampOf extracts the timestamp of an entry.
+     */
+    TimestampIndex(final ToIntFunction<T> timestampOf) {
+        this.timestampOf = timestampOf;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Entries arriving in timestamp order are appended
+     * in O(1); a backdated entry is inserted after all entries with
+     * a timestamp lower or equal to its own.
+     *
+     * @param entry the entry to add.
+     */
+    @Override
+    public void add(final T entry) {
+        final int timestamp = timestampOf.applyAsInt(entry);
+        final int size = entries.size();
+        if (size == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+        }
+
+        if (size == 0 || timestamps[size - 1] <= timestamp) {
+            timestamps[size] = timestamp;
+            entries.add(entry);
+            return;
+        }
+
+        final int position = upperBound(timestamp);
+        System.arraycopy(timestamps, position, timestamps, position + 1, size - position);
+        timestamps[position] = timestamp;
+        entries.add(position, entry);
+    }
+
+    @Override
+    public List<T> all() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The window is found with two binary searches and returned as a view.
+     */
+    @Override
+    public List<T> range(final int start, final int end) {
+        if (start > end) {
+            return Collections.emptyList();
+        }
+        final int from = lowerBound(start);
+        final int to = upperBound(end);
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(entries.subList(from, to));
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param timestamp the timestamp to look for.
+     * @return the first position holding a timestamp greater or equal to it.
+     */
+    private int lowerBound(final int timestamp) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param timestamp the timestamp to look for.
+     * @return the first position holding a timestamp strictly greater than it.
+     */
+    private int upperBound(final int timestamp) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
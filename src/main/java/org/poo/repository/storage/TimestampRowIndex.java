@@ -0,0 +1,78 @@
+package org.poo.repository.storage;
+
+import java.util.Arrays;
+
+/**
+ * Indexed row series: rows and their timestamps in two primitive arrays,
+ * kept in timestamp order, so a time window is found with two binary
+ * searches and no entry object exists per row.
+ * Rows with equal timestamps keep their insertion order.
+ */
+final class TimestampRowIndex implements RowSeries {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] rows = new int[INITIAL_CAPACITY];
+    private int[] timestamps = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * {@inheritDoc}
+     * Rows arriving in timestamp order are appended in O(1); a backdated
+     * row is inserted after all rows with a timestamp lower or equal to its own.
+     */
+    @Override
+    public void add(final int row, final int timestamp) {
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, size * 2);
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+        }
+
+        final int position = size == 0 || timestamps[size - 1] <= timestamp
+                ? size : upperBound(timestamp);
+        System.arraycopy(rows, position, rows, position + 1, size - position);
+        System.arraycopy(timestamps, position, timestamps, position + 1, size - position);
+        rows[position] = row;
+        timestamps[position] = timestamp;
+        size++;
+    }
+
+    @Override
+    public int rowAt(final int position) {
+        return rows[position];
+    }
+
+    @Override
+    public int lowerBound(final int timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public int upperBound(final int timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
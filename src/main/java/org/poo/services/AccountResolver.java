@@ -0,0 +1,47 @@
+package org.poo.services;
+
+import org.poo.entities.Account.Account;
+import org.poo.entities.accountAlias.Alias;
+import org.poo.repository.AccountRepository;
+import org.poo.repository.AliasRepository;
+
+/**
+ * Service that resolves an account reference given either as an IBAN
+ * or as an alias.
+ */
+public final class AccountResolver {
+    private final AccountRepository accountRepository;
+    private final AliasRepository aliasRepository;
+
+    /**
+     * Constructor for AccountResolver.
+     *
+     * @param accountRepository the repository for accounts.
+     * @param aliasRepository   the repository for aliases.
+     */
+    public AccountResolver(final AccountRepository accountRepository,
+                           final AliasRepository aliasRepository) {
+        this.accountRepository = accountRepository;
+        this.aliasRepository = aliasRepository;
+    }
+
+    /**
+     * Resolves an IBAN or an alias to its account.
+     * IBANs take precedence over aliases with the same text.
+     *
+     * @param ibanOrAlias the IBAN or alias of the account.
+     * @return the matching account, or null if neither an account nor an alias matches.
+     */
+    public Account resolve(final String ibanOrAlias) {
+        Account account = accountRepository.findAccountByIban(ibanOrAlias);
+        if (account != null) {
+            return account;
+        }
+
+        Alias alias = aliasRepository.findAliasByAlias(ibanOrAlias);
+        if (alias == null) {
+            return null;
+        }
+        return accountRepository.findAccountByIban(alias.getAccountIBAN());
+    }
+}
@@ -2,20 +2,24 @@ package org.poo.services;
 
 import org.poo.entities.accountAlias.Alias;
 import org.poo.repository.AliasRepository;
+import org.poo.utils.StringRegistry;
 
 /**
  * Service class for managing aliases.
  */
 public final class AliasService {
     private final AliasRepository aliasRepository;
+    private final StringRegistry strings;
 
     /**
      * Constructor for AliasService.
      *
      * @param aliasRepository the repository for aliases.
+     * @param strings         the string pool of the bank.
      */
-    public AliasService(final AliasRepository aliasRepository) {
+    public AliasService(final AliasRepository aliasRepository, final StringRegistry strings) {
         this.aliasRepository = aliasRepository;
+        this.strings = strings;
     }
 
     /**
@@ -29,7 +33,7 @@ public final class AliasService {
         if (aliasRepository.findAliasByAlias(aliasName) != null) {
             throw new IllegalArgumentException("Alias already exists: " + aliasName);
         }
-        Alias alias = new Alias(aliasName, iban, userEmail);
+        Alias alias = new Alias(aliasName, iban, userEmail, strings);
         aliasRepository.addAlias(alias);
     }
 
@@ -0,0 +1,103 @@
+package org.poo.services;
+
+import org.poo.repository.AccountRepository;
+import org.poo.repository.AliasRepository;
+import org.poo.repository.CardRepository;
+import org.poo.repository.CommerciantsRepository;
+import org.poo.repository.SpendingsRepository;
+import org.poo.repository.SplitsRepository;
+import org.poo.repository.TransactionRepository;
+import org.poo.repository.UserRepository;
+import org.poo.repository.storage.StorageBackend;
+import org.poo.utils.CurrencyRegistry;
+import org.poo.utils.NumberGenerator;
+import org.poo.utils.StringRegistry;
+
+/**
+ * One bank: the repositories, exchange rates, number generators and string
+ * and currency registries of a single run. Nothing in it is shared with other
+ * banks, so several input files can run at once, each on its own thread with
+ * its own bank, and everything a run interned goes away with its bank.
+ * The bank is handed to the commands through their
+ * {@link org.poo.commands.ExecutionContext}, and from there to whatever needs
+ * its exchange rates, numbers or registries.
+ */
+public final class BankContext {
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final CardRepository cardRepository;
+    private final AliasRepository aliasRepository;
+    private final SpendingsRepository spendingsRepository;
+    private final CommerciantsRepository commerciantsRepository;
+    private final SplitsRepository splitsRepository;
+
+    private final StringRegistry strings = new StringRegistry();
+    private final CurrencyRegistry currencies = new CurrencyRegistry();
+    private final ExchangeService exchangeService = new ExchangeService(currencies);
+    private final NumberGenerator numbers = new NumberGenerator();
+
+    /**
+     * Creates an empty bank.
+     *
+     * @param storage the backend the repositories keep their entities in.
+     */
+    public BankContext(final StorageBackend storage) {
+        this.userRepository = new UserRepository(storage);
+        this.accountRepository = new AccountRepository(storage);
+        this.transactionRepository = new TransactionRepository(storage, strings, currencies);
+        this.cardRepository = new CardRepository(storage);
+        this.aliasRepository = new AliasRepository(storage);
+        this.spendingsRepository = new SpendingsRepository(storage);
+        this.commerciantsRepository = new CommerciantsRepository(storage);
+        this.splitsRepository = new SplitsRepository(storage);
+    }
+
+    public UserRepository getUserRepository() {
+        return userRepository;
+    }
+
+    public AccountRepository getAccountRepository() {
+        return accountRepository;
+    }
+
+    public TransactionRepository getTransactionRepository() {
+        return transactionRepository;
+    }
+
+    public CardRepository getCardRepository() {
+        return cardRepository;
+    }
+
+    public AliasRepository getAliasRepository() {
+        return aliasRepository;
+    }
+
+    public SpendingsRepository getSpendingsRepository() {
+        return spendingsRepository;
+    }
+
+    public CommerciantsRepository getCommerciantsRepository() {
+        return commerciantsRepository;
+    }
+
+    public SplitsRepository getSplitsRepository() {
+        return splitsRepository;
+    }
+
+    public StringRegistry getStrings() {
+        return strings;
+    }
+
+    public CurrencyRegistry getCurrencies() {
+        return currencies;
+    }
+
+    public ExchangeService getExchangeService() {
+        return exchangeService;
+    }
+
+    public NumberGenerator getNumbers() {
+        return numbers;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Optional;
 import org.poo.entities.Commerciants.CashbackType;
 import org.poo.entities.Commerciants.Commerciant;
 import org.poo.repository.CommerciantsRepository;
+import org.poo.utils.StringRegistry;
 
 /**
  * Service for managing commerciants.
@@ -15,14 +16,18 @@ import org.poo.repository.CommerciantsRepository;
 public final class CommerciantsService {
 
     private final CommerciantsRepository commerciantsRepository;
+    private final StringRegistry strings;
 
     /**
      * Constructs a new CommerciantsService with the specified repository.
      *
      * @param commerciantsRepository the repository to use
+     * @param strings                the string pool of the bank
      */
-    public CommerciantsService(final CommerciantsRepository commerciantsRepository) {
+    public CommerciantsService(final CommerciantsRepository commerciantsRepository,
+                               final StringRegistry strings) {
         this.commerciantsRepository = commerciantsRepository;
+        this.strings = strings;
     }
 
     /**
@@ -41,13 +46,7 @@ public final class CommerciantsService {
      * @return the commerciant found, or null if no match was found
      */
     public Commerciant getCommerciantByName(final String name) {
-        List<Commerciant> allCommerciants = getAllCommerciants();
-        for (Commerciant c : allCommerciants) {
-            if (c.getName().equalsIgnoreCase(name)) {
-                return c;
-            }
-        }
-        return null;
+        return commerciantsRepository.findByName(name);
     }
 
     /**
@@ -93,7 +92,7 @@ public final class CommerciantsService {
             final String cashbackStrategy
     ) {
         CashbackType strategy = parseCashbackStrategy(cashbackStrategy);
-        Commerciant commerciant = new Commerciant(id, name, account, type, strategy);
+        Commerciant commerciant = new Commerciant(id, name, account, type, strategy, strings);
         commerciantsRepository.addCommerciant(commerciant);
     }
 
@@ -1,65 +1,123 @@
 package org.poo.services;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.HashSet;
-import java.util.Queue;
-import java.util.LinkedList;
-import java.util.Collections;
+import org.poo.entities.ExchangeRate;
+import org.poo.utils.CurrencyRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Singleton service for handling currency exchange rates and conversions.
+ * Service for handling currency exchange rates and conversions. Every
+ * {@link BankContext} has its own, so banks running at once keep separate rates.
  * Provides methods for adding exchange rates and performing currency conversions.
+ * Rates are versioned: every timestamp a rate is published at opens a
+ * {@link RateSnapshot}, and a conversion at a given timestamp uses the
+ * latest snapshot in effect at that time. Rates added without a timestamp
+ * belong to the initial snapshot, which is in effect from the start.
+ * <p>
+ * Snapshots are immutable and readers see the whole history through a
+ * single volatile reference, so conversions never lock. Rate updates are
+ * serialized; each builds a new history and publishes it in one write,
+ * so a reader sees either all of an update or none of it.
  */
 public final class ExchangeService {
-    private static final Map<String, Map<String, Double>> EXCHANGE_RATE_MAP = new HashMap<>();
-    private static ExchangeService instance;
+    private final CurrencyRegistry currencies;
 
-    // Private constructor to prevent instantiation
-    private ExchangeService() {
+    // Snapshots in timestamp order; replaced, never modified
+    private volatile RateSnapshot[] snapshots;
 
+    // Created by BankContext only
+    ExchangeService(final CurrencyRegistry currencies) {
+        this.currencies = currencies;
+        this.snapshots = new RateSnapshot[] {
+                new RateSnapshot(currencies, Integer.MIN_VALUE, List.of(), null)
+        };
     }
 
     /**
-     * Returns the singleton instance of ExchangeService.
+     * Adds an exchange rate between two currencies, in effect from the start.
      *
-     * @return the instance of ExchangeService
+     * @param fromCurrency the currency to convert from
+     * @param toCurrency the currency to convert to
+     * @param rate the exchange rate
      */
-    public static ExchangeService getInstance() {
-        if (instance == null) {
-            instance = new ExchangeService();
-        }
-        return instance;
+    public void addExchangeRate(final String fromCurrency,
+                                final String toCurrency, final double rate) {
+        addExchangeRate(fromCurrency, toCurrency, rate, Integer.MIN_VALUE);
     }
 
     /**
-     * Resets the instance of ExchangeService, clearing the exchange rates.
+     * Adds an exchange rate between two currencies, in effect from the given
+     * timestamp until a later update of the same pair. The inverse rate is
+     * updated as well. Conversions at earlier timestamps are not affected.
+     *
+     * @param fromCurrency the currency to convert from
+     * @param toCurrency the currency to convert to
+     * @param rate the exchange rate
+     * @param timestamp the first timestamp the rate applies to
      */
-    public static void resetInstance() {
-        if (instance != null) {
-            EXCHANGE_RATE_MAP.clear(); // Clear exchange rates
-        }
+    public void addExchangeRate(final String fromCurrency, final String toCurrency,
+                                final double rate, final int timestamp) {
+        addExchangeRates(List.of(new ExchangeRate(fromCurrency, toCurrency, rate)), timestamp);
     }
 
     /**
-     * Adds an exchange rate between two currencies.
+     * Adds a batch of exchange rates, all in effect from the start. The
+     * rates are published together, so the conversion tables are built once
+     * for the whole batch rather than once per rate.
      *
-     * @param fromCurrency the currency to convert from
-     * @param toCurrency the currency to convert to
-     * @param rate the exchange rate
+     * @param rates the exchange rates, applied in order
      */
-    public void addExchangeRate(final String fromCurrency,
-                                final String toCurrency, final double rate) {
+    public void addExchangeRates(final List<ExchangeRate> rates) {
+        addExchangeRates(rates, Integer.MIN_VALUE);
+    }
 
-        // add in Hashmap rates and the invers rates from input
-        EXCHANGE_RATE_MAP.computeIfAbsent(fromCurrency, k -> new HashMap<>()).put(toCurrency, rate);
-        EXCHANGE_RATE_MAP.computeIfAbsent(toCurrency, k -> new HashMap<>())
-                .put(fromCurrency, 1 / rate); // Inverse rate
+    /**
+     * Adds a batch of exchange rates, all in effect from the given timestamp,
+     * and publishes them in one update.
+     *
+     * @param rates the exchange rates, applied in order
+     * @param timestamp the first timestamp the rates apply to
+     */
+    public void addExchangeRates(final List<ExchangeRate> rates, final int timestamp) {
+        if (rates.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            RateSnapshot[] current = snapshots;
+            int position = snapshotIndex(current, timestamp);
+            RateSnapshot[] history;
+            // The snapshot the one after the update was built on
+            RateSnapshot replaced = current[position];
+            List<ExchangeRate> updates = new ArrayList<>();
+            if (current[position].getEffectiveFrom() == timestamp) {
+                history = current.clone();
+                updates.addAll(current[position].getUpdates());
+            } else {
+                position++;
+                history = new RateSnapshot[current.length + 1];
+                System.arraycopy(current, 0, history, 0, position);
+                System.arraycopy(current, position, history, position + 1,
+                        current.length - position);
+            }
+            updates.addAll(rates);
+
+            RateSnapshot previous = position > 0 ? history[position - 1] : null;
+            history[position] = new RateSnapshot(currencies, timestamp, updates, previous);
+
+            // A later snapshot is rebuilt only while the one it builds on has changed
+            for (int i = position + 1;
+                    i < history.length && !history[i - 1].sameRatesAs(replaced); i++) {
+                replaced = history[i];
+                history[i] = new RateSnapshot(currencies, replaced.getEffectiveFrom(),
+                        replaced.getUpdates(), history[i - 1]);
+            }
+            snapshots = history;
+        }
     }
 
     /**
-     * Converts an amount from one currency to another using the available exchange rates.
+     * Converts an amount from one currency to another using the latest exchange rates.
      *
      * @param amount the amount to convert
      * @param fromCurrency the currency to convert from
@@ -67,75 +125,201 @@ public final class ExchangeService {
      * @return the converted amount
      */
     public double convert(final double amount, final String fromCurrency, final String toCurrency) {
-        if (fromCurrency.equals(toCurrency)) {
-            return amount; // Same currency
-        }
-
-        Double rate = getDirectRate(fromCurrency, toCurrency);
-        // If Intermediate
-        if (rate == null) {
-            rate = findRateUsingIntermediate(fromCurrency, toCurrency);
-        }
-
-        return amount * rate;
+        return convert(amount, currencies.idOf(fromCurrency),
+                currencies.idOf(toCurrency));
     }
 
     /**
-     * Retrieves the direct exchange rate between two currencies.
+     * Converts an amount from one currency to another using the exchange
+     * rates in effect at the given timestamp.
      *
+     * @param amount the amount to convert
      * @param fromCurrency the currency to convert from
      * @param toCurrency the currency to convert to
-     * @return the exchange rate, or null if no direct rate exists
+     * @param timestamp the timestamp of the conversion
+     * @return the converted amount
      */
-    private Double getDirectRate(final String fromCurrency, final String toCurrency) {
-        Map<String, Double> rates = EXCHANGE_RATE_MAP.get(fromCurrency);
-        if (rates != null) {
-            return rates.get(toCurrency);
-        }
-        return null;
+    public double convert(final double amount, final String fromCurrency,
+                          final String toCurrency, final int timestamp) {
+        return convert(amount, currencies.idOf(fromCurrency),
+                currencies.idOf(toCurrency), timestamp);
     }
 
     /**
-     * Finds an exchange rate between two currencies using intermediate currencies.
+     * Converts an amount between two currencies given by their registry ids,
+     * using the latest exchange rates.
      *
-     * @param fromCurrency the currency to convert from
-     * @param toCurrency the currency to convert to
-     * @return the exchange rate
+     * @param amount the amount to convert
+     * @param fromCurrency the id of the currency to convert from
+     * @param toCurrency the id of the currency to convert to
+     * @return the converted amount
+     * @throws IllegalArgumentException if no conversion path is found
+     */
+    public double convert(final double amount, final int fromCurrency, final int toCurrency) {
+        RateSnapshot[] current = snapshots;
+        return convert(amount, fromCurrency, toCurrency, current[current.length - 1]);
+    }
+
+    /**
+     * Converts an amount between two currencies given by their registry ids,
+     * using the exchange rates in effect at the given timestamp.
+     *
+     * @param amount the amount to convert
+     * @param fromCurrency the id of the currency to convert from
+     * @param toCurrency the id of the currency to convert to
+     * @param timestamp the timestamp of the conversion
+     * @return the converted amount
      * @throws IllegalArgumentException if no conversion path is found
      */
-    private double findRateUsingIntermediate(final String fromCurrency, final String toCurrency) {
-        Set<String> visited = new HashSet<>();
-        Queue<String> queue = new LinkedList<>();
-        Map<String, Double> rates = new HashMap<>();
+    public double convert(final double amount, final int fromCurrency,
+                          final int toCurrency, final int timestamp) {
+        RateSnapshot[] current = snapshots;
+        return convert(amount, fromCurrency, toCurrency,
+                current[snapshotIndex(current, timestamp)]);
+    }
+
+    /**
+     * Converts a batch of amounts, all in the same currency, into another
+     * currency using the exchange rates in effect at the given timestamp.
+     * The rate is looked up once and the amounts are converted in a single pass.
+     *
+     * @param amounts the amounts to convert
+     * @param fromCurrency the id of the currency the amounts are in
+     * @param toCurrency the id of the currency to convert to
+     * @param timestamp the timestamp of the conversion
+     * @param converted receives the converted amounts; may be {@code amounts} itself
+     * @throws IllegalArgumentException if the arrays differ in length or
+     *                                  no conversion path is found
+     */
+    public void convertAll(final double[] amounts, final int fromCurrency,
+                           final int toCurrency, final int timestamp,
+                           final double[] converted) {
+        checkBatchLength(amounts.length, converted.length);
+        RateSnapshot[] current = snapshots;
+        RateSnapshot snapshot = current[snapshotIndex(current, timestamp)];
 
-        queue.add(fromCurrency);
-        rates.put(fromCurrency, 1.0);
+        if (fromCurrency == toCurrency) {
+            System.arraycopy(amounts, 0, converted, 0, amounts.length); // Same currency
+            return;
+        }
 
-        while (!queue.isEmpty()) {
-            String current = queue.poll();
-            double currentRate = rates.get(current);
+        double rate = rateOf(snapshot, fromCurrency, toCurrency);
+        for (int i = 0; i < amounts.length; i++) {
+            converted[i] = amounts[i] * rate;
+        }
+    }
 
-            if (current.equals(toCurrency)) {
-                return currentRate;
+    /**
+     * Converts a batch of amounts, all in the same currency, each into its
+     * own currency using the exchange rates in effect at the given timestamp.
+     * Every target currency is checked before anything is written, then
+     * the amounts are converted in a single pass.
+     *
+     * @param amounts the amounts to convert
+     * @param fromCurrency the id of the currency the amounts are in
+     * @param toCurrencies the id of the currency to convert each amount to
+     * @param timestamp the timestamp of the conversion
+     * @param converted receives the converted amounts; may be {@code amounts} itself
+     * @throws IllegalArgumentException if the arrays differ in length, a currency
+     *                                  id is unknown or no conversion path is found
+     */
+    public void convertAll(final double[] amounts, final int fromCurrency,
+                           final int[] toCurrencies, final int timestamp,
+                           final double[] converted) {
+        checkBatchLength(amounts.length, toCurrencies.length);
+        checkBatchLength(amounts.length, converted.length);
+        RateSnapshot[] current = snapshots;
+        RateSnapshot snapshot = current[snapshotIndex(current, timestamp)];
+
+        // Rate from the source into every registered currency, indexed by id
+        double[] ratesFrom = new double[currencies.size()];
+        for (int toCurrency : toCurrencies) {
+            if (toCurrency < 0 || toCurrency >= ratesFrom.length) {
+                throw new IllegalArgumentException("Unknown currency id: " + toCurrency);
+            }
+            if (ratesFrom[toCurrency] == 0.0) {
+                ratesFrom[toCurrency] = toCurrency == fromCurrency
+                        ? 1.0 : rateOf(snapshot, fromCurrency, toCurrency);
             }
+        }
 
-            visited.add(current);
+        for (int i = 0; i < amounts.length; i++) {
+            converted[i] = amounts[i] * ratesFrom[toCurrencies[i]];
+        }
+    }
 
-            // getOrDefault() for value or null
-            for (Map.Entry<String, Double> entry : EXCHANGE_RATE_MAP
-                    .getOrDefault(current, Collections.emptyMap()).entrySet()) {
-                String neighbor = entry.getKey();
-                double neighborRate = entry.getValue();
+    /**
+     * Converts an amount using the rates of one snapshot.
+     *
+     * @param amount the amount to convert
+     * @param fromCurrency the id of the currency to convert from
+     * @param toCurrency the id of the currency to convert to
+     * @param snapshot the rates to use
+     * @return the converted amount
+     * @throws IllegalArgumentException if no conversion path is found
+     */
+    private double convert(final double amount, final int fromCurrency,
+                           final int toCurrency, final RateSnapshot snapshot) {
+        if (fromCurrency == toCurrency) {
+            return amount; // Same currency
+        }
 
-                if (!visited.contains(neighbor)) {
-                    double cumulativeRate = currentRate * neighborRate;
-                    rates.put(neighbor, cumulativeRate);
-                    queue.add(neighbor);
-                }
-            }
+        return amount * rateOf(snapshot, fromCurrency, toCurrency);
+    }
+
+    /**
+     * Looks up the rate between two different currencies in a snapshot.
+     *
+     * @param snapshot the rates to use
+     * @param fromCurrency the id of the currency to convert from
+     * @param toCurrency the id of the currency to convert to
+     * @return the rate
+     * @throws IllegalArgumentException if no conversion path is found
+     */
+    private double rateOf(final RateSnapshot snapshot, final int fromCurrency,
+                                 final int toCurrency) {
+        double rate = snapshot.rate(fromCurrency, toCurrency);
+        if (Double.isNaN(rate)) {
+            throw new IllegalArgumentException("No conversion path found for "
+                    + currencies.codeOf(fromCurrency) + " -> "
+                    + currencies.codeOf(toCurrency));
+        }
+        return rate;
+    }
+
+    /**
+     * Checks that two arrays of a batch conversion line up.
+     *
+     * @param expected the length of the amounts array
+     * @param actual the length of the other array
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    private static void checkBatchLength(final int expected, final int actual) {
+        if (expected != actual) {
+            throw new IllegalArgumentException("Batch arrays differ in length: "
+                    + expected + " != " + actual);
         }
+    }
 
-        throw new IllegalArgumentException("No conversion path found for "
-                + fromCurrency + " -> " + toCurrency);
+    /**
+     * Finds the snapshot in effect at a timestamp with a binary search.
+     * The initial snapshot is in effect from the start, so there always is one.
+     *
+     * @param history the snapshots, in timestamp order
+     * @param timestamp the timestamp to look for
+     * @return the position of the last snapshot effective at or before it
+     */
+    private static int snapshotIndex(final RateSnapshot[] history, final int timestamp) {
+        int low = 0;
+        int high = history.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (history[mid].getEffectiveFrom() <= timestamp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
     }
 }
@@ -0,0 +1,263 @@
+package org.poo.services;
+
+import org.poo.entities.ExchangeRate;
+import org.poo.utils.CurrencyRegistry;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Immutable exchange rates in effect from a given timestamp on.
+ * A snapshot holds the rate updates published at its own timestamp and the
+ * direct rates in effect, which are those of the snapshot before it with
+ * its own updates applied. Only the currencies the updates touch get a new
+ * map of rates; the others share their map with the previous snapshot. The
+ * rate between every pair of currencies is precomputed into a dense table
+ * indexed by the bank's {@link CurrencyRegistry} ids when the snapshot is built, so a
+ * published snapshot is never written again and can be read without locks.
+ */
+final class RateSnapshot {
+    private final int effectiveFrom;
+    private final List<ExchangeRate> updates;
+    private final Map<String, Map<String, Double>> rates;
+
+    private final double[] conversionTable;
+    private final int conversionTableSize;
+
+    /**
+     * Builds a snapshot and its conversion table.
+     *
+     * @param currencies    the currency ids of the bank the rates belong to.
+     * @param effectiveFrom the first timestamp the snapshot applies to.
+     * @param updates       the rate updates published at that timestamp.
+     * @param previous      the snapshot in effect before this one, or null.
+     */
+    RateSnapshot(final CurrencyRegistry currencies, final int effectiveFrom,
+                 final List<ExchangeRate> updates, final RateSnapshot previous) {
+        this.effectiveFrom = effectiveFrom;
+        this.updates = List.copyOf(updates);
+        this.rates = applyUpdates(previous);
+
+        for (String currency : rates.keySet()) {
+            currencies.idOf(currency);
+        }
+
+        int size = currencies.size();
+        double[] table = new double[size * size];
+        Arrays.fill(table, Double.NaN);
+        for (String currency : rates.keySet()) {
+            fillRatesFrom(currencies, rates, currency, table, currencies.idOf(currency) * size);
+        }
+        this.conversionTableSize = size;
+        this.conversionTable = table;
+    }
+
+    /**
+     * @return the first timestamp the snapshot applies to.
+     */
+    int getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    /**
+     * @return the rate updates published at this snapshot's timestamp.
+     */
+    List<ExchangeRate> getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Tells whether a snapshot built on this one holds the same rates as one
+     * built on another snapshot. The direct rates must be equal and be kept in
+     * the same order, since an indirect rate is the one of the first path the
+     * search finds.
+     *
+     * @param other the other snapshot.
+     * @return true if both hold the same direct rates, in the same order.
+     */
+    boolean sameRatesAs(final RateSnapshot other) {
+        return sameInOrder(rates, other.rates);
+    }
+
+    /**
+     * Returns the rate between two currencies.
+     *
+     * @param fromCurrency the id of the currency to convert from.
+     * @param toCurrency   the id of the currency to convert to.
+     * @return the rate, or NaN if there is no conversion path.
+     */
+    double rate(final int fromCurrency, final int toCurrency) {
+        if (fromCurrency < 0 || fromCurrency >= conversionTableSize
+                || toCurrency < 0 || toCurrency >= conversionTableSize) {
+            return Double.NaN;
+        }
+        return conversionTable[fromCurrency * conversionTableSize + toCurrency];
+    }
+
+    /**
+     * Applies this snapshot's updates on top of the direct rates of the
+     * previous one. A map is copied entry by entry, which keeps the order a
+     * map replaying every update from the start would have.
+     *
+     * @param previous the snapshot in effect before this one, or null.
+     * @return the direct rate of every pair, and of its inverse.
+     */
+    private Map<String, Map<String, Double>> applyUpdates(final RateSnapshot previous) {
+        Map<String, Map<String, Double>> applied = new HashMap<>();
+        if (previous != null) {
+            copyInOrder(previous.rates, applied);
+        }
+
+        Set<String> copied = new HashSet<>();
+        for (ExchangeRate update : updates) {
+            // add the rate and the inverse rate
+            ownRates(applied, copied, update.getFromCurrency())
+                    .put(update.getToCurrency(), update.getRate());
+            ownRates(applied, copied, update.getToCurrency())
+                    .put(update.getFromCurrency(), 1 / update.getRate());
+        }
+        return applied;
+    }
+
+    /**
+     * Returns the direct rates of a currency that this snapshot may write,
+     * copying the shared map on the first write.
+     *
+     * @param applied  the direct rates being built.
+     * @param copied   the currencies whose map is already this snapshot's own.
+     * @param currency the currency to convert from.
+     * @return the currency's own map of direct rates.
+     */
+    private static Map<String, Double> ownRates(final Map<String, Map<String, Double>> applied,
+                                                final Set<String> copied,
+                                                final String currency) {
+        if (copied.add(currency)) {
+            Map<String, Double> own = new HashMap<>();
+            Map<String, Double> shared = applied.get(currency);
+            if (shared != null) {
+                copyInOrder(shared, own);
+            }
+            applied.put(currency, own);
+        }
+        return applied.get(currency);
+    }
+
+    /**
+     * Copies a map one entry at a time. Unlike putAll on an empty map, this
+     * grows the copy as the original grew, so both iterate in the same order.
+     *
+     * @param source the map to copy.
+     * @param target the empty map to copy into.
+     */
+    private static <V> void copyInOrder(final Map<String, V> source,
+                                        final Map<String, V> target) {
+        for (Map.Entry<String, V> entry : source.entrySet()) {
+            target.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @param first  the direct rates of a snapshot.
+     * @param second the direct rates of another snapshot.
+     * @return true if both iterate the same currencies, with the same rates,
+     *         in the same order.
+     */
+    private static boolean sameInOrder(final Map<String, Map<String, Double>> first,
+                                       final Map<String, Map<String, Double>> second) {
+        if (first.size() != second.size()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, Map<String, Double>>> others = second.entrySet().iterator();
+        for (Map.Entry<String, Map<String, Double>> entry : first.entrySet()) {
+            Map.Entry<String, Map<String, Double>> other = others.next();
+            if (!entry.getKey().equals(other.getKey())
+                    || !sameRatesInOrder(entry.getValue(), other.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param first  the direct rates from a currency.
+     * @param second the direct rates from the same currency in another snapshot.
+     * @return true if both iterate the same rates in the same order.
+     */
+    private static boolean sameRatesInOrder(final Map<String, Double> first,
+                                            final Map<String, Double> second) {
+        if (first == second) {
+            return true; // Shared, never written again
+        }
+        if (first.size() != second.size()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, Double>> others = second.entrySet().iterator();
+        for (Map.Entry<String, Double> entry : first.entrySet()) {
+            if (!entry.equals(others.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fills the conversion table row of a currency. Direct rates are used
+     * as given; the other pairs get the rate found by a breadth-first search
+     * through intermediate currencies. Pairs without a path are left as NaN.
+     *
+     * @param currencies   the currency ids of the bank.
+     * @param rates        the direct rates in effect.
+     * @param fromCurrency the currency to convert from.
+     * @param table        the conversion table.
+     * @param rowOffset    the position of the currency's row in the table.
+     */
+    private static void fillRatesFrom(final CurrencyRegistry currencies,
+                                      final Map<String, Map<String, Double>> rates,
+                                      final String fromCurrency, final double[] table,
+                                      final int rowOffset) {
+        for (Map.Entry<String, Double> direct : rates.get(fromCurrency).entrySet()) {
+            table[rowOffset + currencies.idOf(direct.getKey())] = direct.getValue();
+        }
+
+        // The rate of an indirect pair is the one the target holds when it is first dequeued
+        Set<String> visited = new HashSet<>();
+        Queue<String> queue = new ArrayDeque<>();
+        Map<String, Double> pathRates = new HashMap<>();
+
+        queue.add(fromCurrency);
+        pathRates.put(fromCurrency, 1.0);
+
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            double currentRate = pathRates.get(current);
+
+            int position = rowOffset + currencies.idOf(current);
+            if (Double.isNaN(table[position])) {
+                table[position] = currentRate;
+            }
+
+            visited.add(current);
+
+            // getOrDefault() for value or null
+            for (Map.Entry<String, Double> entry : rates
+                    .getOrDefault(current, Collections.emptyMap()).entrySet()) {
+                String neighbor = entry.getKey();
+                double neighborRate = entry.getValue();
+
+                if (!visited.contains(neighbor)) {
+                    double cumulativeRate = currentRate * neighborRate;
+                    pathRates.put(neighbor, cumulativeRate);
+                    queue.add(neighbor);
+                }
+            }
+        }
+    }
+}
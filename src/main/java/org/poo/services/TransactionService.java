@@ -1,14 +1,17 @@
 package org.poo.services;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.entities.Transaction;
 import org.poo.entities.TransactionStatus;
+import org.poo.output.JsonOutput;
+import org.poo.output.OutputSink;
 import org.poo.repository.AccountRepository;
 import org.poo.repository.TransactionRepository;
+import org.poo.repository.TransactionStore;
 import org.poo.repository.UserRepository;
 import org.poo.fileio.CommandInput;
+import org.poo.utils.Money;
 
 import java.util.List;
 
@@ -50,7 +53,8 @@ public final class TransactionService {
                                          final AccountRepository accountRepository,
                                          final TransactionStatus status) {
 
-        Transaction transaction = new Transaction(email, fromAccount, toAccount,
+        Transaction transaction = new Transaction(transactionRepository.getStore(),
+                email, fromAccount, toAccount,
                 amount, currency, timestamp, description, status);
         transactionRepository.saveTransaction(transaction);
         return transaction;
@@ -70,29 +74,22 @@ public final class TransactionService {
      * Prints the transactions based on a given command.
      *
      * @param command          The input command.
-     * @param output           The output array to store the result.
+     * @param output           The sink the result is written to.
      * @param userRepository   User repository for user validation.
      */
-    public void printTransactions(final CommandInput command, final ArrayNode output,
+    public void printTransactions(final CommandInput command, final OutputSink output,
                                   final UserRepository userRepository) {
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode transactionNode = mapper.createObjectNode();
-        transactionNode.put("command", "printTransactions");
-        transactionNode.put("timestamp", command.getTimestamp());
+        ObjectNode transactionNode = JsonOutput.result("printTransactions", command.getTimestamp());
         ArrayNode transactionsArray = transactionNode.putArray("output");
 
-        for (Transaction transaction : transactionRepository.getAllTransactions()) {
-            // Check if the transaction belongs to the user
-            if (!transaction.getEmail().equals(command.getEmail())) {
-                continue;
-            }
-
-            ObjectNode outputNode = mapper.createObjectNode();
-            formatPrint(transaction, command, output, outputNode, userRepository);
+        final TransactionStore store = transactionRepository.getStore();
+        transactionRepository.forEachRowByEmail(command.getEmail(), row -> {
+            ObjectNode outputNode = JsonOutput.objectNode();
+            formatPrint(store, row, command, output, outputNode, userRepository);
 
             // Add the processed transaction to the output array
             transactionsArray.add(outputNode);
-        }
+        });
 
         output.add(transactionNode);
     }
@@ -100,25 +97,31 @@ public final class TransactionService {
     /**
      * Formats a transaction for printing.
      *
-     * @param transaction     The transaction to format.
+     * @param store           The store holding the transaction.
+     * @param row             The transaction's row in the store.
      * @param command         The command input.
-     * @param output          The output array to store the result.
+     * @param output          The sink the result is written to.
      * @param outputNode      The output node to store the formatted transaction.
      * @param userRepository  The user repository for validation.
      */
-    public static void formatPrint(final Transaction transaction, final CommandInput command,
-                                   final ArrayNode output, final ObjectNode outputNode,
+    public static void formatPrint(final TransactionStore store, final int row,
+                                   final CommandInput command, final OutputSink output,
+                                   final ObjectNode outputNode,
                                    final UserRepository userRepository) {
-        outputNode.put("timestamp", transaction.getTimestamp());
-        outputNode.put("description", transaction.getDescription());
+        // Rendered once, however many fields quote it
+        final String description = store.getDescription(row);
+        final double amount = Money.toUnits(store.getAmount(row));
+
+        outputNode.put("timestamp", store.getTimestamp(row));
+        outputNode.put("description", description);
 
         // Handle transactions based on their type
-        switch (transaction.getType()) {
+        switch (store.getType(row)) {
             case SEND_MONEY:
-                outputNode.put("senderIBAN", transaction.getFromAccount());
-                outputNode.put("receiverIBAN", transaction.getToAccount());
-                outputNode.put("amount", transaction.getAmount() + " " + transaction.getCurrency());
-                if (transaction.getStatus().equals(TransactionStatus.sent)) {
+                outputNode.put("senderIBAN", store.getFromAccount(row));
+                outputNode.put("receiverIBAN", store.getToAccount(row));
+                outputNode.put("amount", amount + " " + store.getCurrency(row));
+                if (store.getStatus(row).equals(TransactionStatus.sent)) {
                     outputNode.put("transferType", "sent");
                 } else {
                     outputNode.put("transferType", "received");
@@ -126,45 +129,45 @@ public final class TransactionService {
                 break;
 
             case ADD_FUNDS:
-                outputNode.put("account", transaction.getFromAccount());
-                outputNode.put("amount", transaction.getAmount() + " " + transaction.getCurrency());
+                outputNode.put("account", store.getFromAccount(row));
+                outputNode.put("amount", amount + " " + store.getCurrency(row));
                 break;
 
             case CREATE_CARD:
-                outputNode.put("account", transaction.getFromAccount());
-                outputNode.put("cardHolder", transaction.getEmail());
-                outputNode.put("card", transaction.getCardNumber());
+                outputNode.put("account", store.getFromAccount(row));
+                outputNode.put("cardHolder", store.getEmail(row));
+                outputNode.put("card", store.getCardNumber(row));
                 break;
 
             case PAY_ONLINE:
-                outputNode.put("amount", transaction.getAmount());
-                outputNode.put("commerciant", transaction.getCommerciant());
+                outputNode.put("amount", amount);
+                outputNode.put("commerciant", store.getCommerciant(row));
                 break;
 
             case DELETE_ACCOUNT:
-                outputNode.put("description", transaction.getDescription());
-                outputNode.put("timestamp", transaction.getTimestamp());
+                outputNode.put("description", description);
+                outputNode.put("timestamp", store.getTimestamp(row));
                 break;
 
             case DELETE_CARD:
-                outputNode.put("account", transaction.getFromAccount());
-                outputNode.put("card", transaction.getCardNumber());
-                outputNode.put("cardHolder", transaction.getEmail());
+                outputNode.put("account", store.getFromAccount(row));
+                outputNode.put("card", store.getCardNumber(row));
+                outputNode.put("cardHolder", store.getEmail(row));
                 break;
 
             case INSUFFICIENT_FUNDS:
                 break;
 
             case INSUFFICIENT_FUNDS_FOR_SPLIT:
-                outputNode.put("amount", transaction.getAmount());
-                outputNode.put("currency", transaction.getCurrency());
-                outputNode.put("description", transaction.getDescription());
-                outputNode.put("error", transaction.getError());
-                outputNode.put("timestamp", transaction.getTimestamp());
+                outputNode.put("amount", amount);
+                outputNode.put("currency", store.getCurrency(row));
+                outputNode.put("description", description);
+                outputNode.put("error", store.getError(row));
+                outputNode.put("timestamp", store.getTimestamp(row));
 
                 // Array for involved accounts
                 ArrayNode involvedAccountsArray1 = outputNode.putArray("involvedAccounts");
-                for (String account : transaction.getInvolvedAccounts()) {
+                for (String account : store.getInvolvedAccounts(row)) {
                     involvedAccountsArray1.add(account);
                 }
                 break;
@@ -179,10 +182,10 @@ public final class TransactionService {
                 break;
 
             case SPLIT:
-                outputNode.put("currency", transaction.getCurrency());
-                outputNode.put("amount", transaction.getAmount());
+                outputNode.put("currency", store.getCurrency(row));
+                outputNode.put("amount", amount);
                 ArrayNode involvedAccountsArray = outputNode.putArray("involvedAccounts");
-                for (String account : transaction.getInvolvedAccounts()) {
+                for (String account : store.getInvolvedAccounts(row)) {
                     involvedAccountsArray.add(account);
                 }
                 break;
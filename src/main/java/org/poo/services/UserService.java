@@ -2,6 +2,7 @@ package org.poo.services;
 
 import org.poo.entities.User;
 import org.poo.repository.UserRepository;
+import org.poo.utils.StringRegistry;
 
 import java.util.List;
 
@@ -10,14 +11,17 @@ import java.util.List;
  */
 public final class UserService {
     private final UserRepository userRepository;
+    private final StringRegistry strings;
 
     /**
      * Constructor to initialize UserService with a user repository.
      *
      * @param userRepository the repository for managing users.
+     * @param strings        the string pool of the bank.
      */
-    public UserService(final UserRepository userRepository) {
+    public UserService(final UserRepository userRepository, final StringRegistry strings) {
         this.userRepository = userRepository;
+        this.strings = strings;
     }
 
     /**
@@ -35,7 +39,7 @@ public final class UserService {
         if (userRepository.userExists(email)) {
             throw new IllegalArgumentException("User already exists with email: " + email);
         }
-        User newUser = new User(firstName, lastName, email, birthDate, occupation);
+        User newUser = new User(firstName, lastName, email, birthDate, occupation, strings);
         userRepository.addUser(newUser);
     }
 
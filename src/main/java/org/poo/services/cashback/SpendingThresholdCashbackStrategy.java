@@ -6,6 +6,7 @@ import org.poo.entities.Account.Account;
 import org.poo.entities.Commerciants.Commerciant;
 import org.poo.entities.Transaction;
 import org.poo.services.ExchangeService;
+import org.poo.utils.CurrencyRegistry;
 
 /**
  * Cashback strategy based on the total amount spent at merchants.
@@ -62,8 +63,9 @@ public final class SpendingThresholdCashbackStrategy implements CashbackStrategy
 
         final double convertedAmountInRon = exchangeService.convert(
                 transaction.getAmount(),
-                account.getCurrency(),
-                "RON"
+                account.getCurrencyId(),
+                CurrencyRegistry.RON,
+                transaction.getTimestamp()
         );
 
         final String merchantName = commerciant.getName();
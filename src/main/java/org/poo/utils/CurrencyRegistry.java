@@ -0,0 +1,98 @@
+package org.poo.utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns the currency codes of one bank into small, dense integer ids.
+ * A code is interned once, the first time the bank sees it, and keeps its id
+ * for the life of the bank, so same-currency checks and rate lookups can
+ * compare and index by id. The code itself is only needed for output.
+ * <p>
+ * Lookups never lock: conversions read the registry while a rate update
+ * may be interning new codes on another thread. New codes are registered
+ * one at a time, and the code table is replaced rather than modified.
+ */
+public final class CurrencyRegistry {
+    /**
+     * Id used for a missing (null) currency.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Id of the Romanian leu, the bank's reference currency.
+     * Every registry interns it first.
+     */
+    public static final int RON = 0;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] codes = new String[0];
+
+    /**
+     * Creates a registry holding only the reference currency.
+     */
+    public CurrencyRegistry() {
+        idOf("RON");
+    }
+
+    /**
+     * Returns the id of a currency code, interning it if it is new.
+     * Codes are case-sensitive.
+     *
+     * @param code the currency code, or null.
+     * @return the id of the code, or {@link #NONE} for null.
+     */
+    public int idOf(final String code) {
+        if (code == null) {
+            return NONE;
+        }
+        Integer id = ids.get(code);
+        return id != null ? id : intern(code);
+    }
+
+    /**
+     * Returns the code of a currency id.
+     *
+     * @param id the id of the currency.
+     * @return the code, or null for {@link #NONE}.
+     * @throws IllegalArgumentException if the id was never handed out.
+     */
+    public String codeOf(final int id) {
+        if (id == NONE) {
+            return null;
+        }
+        String[] known = codes;
+        if (id < 0 || id >= known.length) {
+            throw new IllegalArgumentException("Unknown currency id: " + id);
+        }
+        return known[id];
+    }
+
+    /**
+     * @return the number of interned codes; every id is below it.
+     */
+    public int size() {
+        return codes.length;
+    }
+
+    /**
+     * Assigns the next id to a code, unless another thread already did.
+     * The code is stored before its id is published, so a reader that got
+     * the id from {@link #idOf} always finds the code.
+     *
+     * @param code the code to intern.
+     * @return the id of the code.
+     */
+    private synchronized int intern(final String code) {
+        Integer id = ids.get(code);
+        if (id != null) {
+            return id;
+        }
+        String[] known = Arrays.copyOf(codes, codes.length + 1);
+        known[known.length - 1] = code;
+        codes = known;
+        ids.put(code, known.length - 1);
+        return known.length - 1;
+    }
+}
@@ -0,0 +1,231 @@
+package org.poo.utils;
+
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic on amounts held as a {@code long} count of minor units.
+ * A minor unit is one millionth of a currency unit, fine enough that the
+ * bank's 0.1% commissions on cent amounts are kept exactly. The currency of
+ * an amount is carried separately, as the {@link CurrencyRegistry} id of the
+ * account or transaction it belongs to, so amounts stay plain primitives and
+ * the ledger math never allocates.
+ * <p>
+ * Sums and differences are exact. Every operation that can produce a
+ * fraction of a minor unit takes an explicit {@link RoundingMode}.
+ */
+public final class Money {
+    private Money() {
+        // Checkstyle error free constructor
+    }
+
+    /**
+     * Number of minor units in one currency unit.
+     */
+    public static final long MINOR_UNITS_PER_UNIT = 1_000_000L;
+
+    /**
+     * Number of basis points in one currency unit; 1 basis point is 0.01%.
+     */
+    public static final long BASIS_POINTS_PER_UNIT = 10_000L;
+
+    /**
+     * Rounding used for the ledger unless an operation says otherwise.
+     */
+    public static final RoundingMode LEDGER_ROUNDING = RoundingMode.HALF_EVEN;
+
+    private static final long STANDARD_COMMISSION_BASIS_POINTS = 20; // 0.2%
+    private static final long SILVER_COMMISSION_BASIS_POINTS = 10; // 0.1%
+    private static final double SILVER_COMMISSION_THRESHOLD_RON = 500.0;
+
+    private static final double HALF = 0.5;
+    private static final double LONG_RANGE = 0x1p63;
+
+    /**
+     * Converts an amount in currency units to minor units, with the ledger rounding.
+     *
+     * @param amount the amount in currency units.
+     * @return the amount in minor units.
+     */
+    public static long ofUnits(final double amount) {
+        return ofUnits(amount, LEDGER_ROUNDING);
+    }
+
+    /**
+     * Converts an amount in currency units to minor units.
+     *
+     * @param amount the amount in currency units.
+     * @param mode   how to round a fraction of a minor unit.
+     * @return the amount in minor units.
+     * @throws IllegalArgumentException if the amount is not a finite number.
+     * @throws ArithmeticException      if the amount does not fit, or needs
+     *                                  rounding under {@link RoundingMode#UNNECESSARY}.
+     */
+    public static long ofUnits(final double amount, final RoundingMode mode) {
+        return round(amount * MINOR_UNITS_PER_UNIT, mode);
+    }
+
+    /**
+     * Converts an amount in minor units back to currency units.
+     *
+     * @param minorUnits the amount in minor units.
+     * @return the nearest amount in currency units.
+     */
+    public static double toUnits(final long minorUnits) {
+        return (double) minorUnits / MINOR_UNITS_PER_UNIT;
+    }
+
+    /**
+     * @param augend the first amount, in minor units.
+     * @param addend the amount to add, in minor units.
+     * @return the exact sum.
+     * @throws ArithmeticException if the sum overflows.
+     */
+    public static long add(final long augend, final long addend) {
+        return Math.addExact(augend, addend);
+    }
+
+    /**
+     * @param minuend    the first amount, in minor units.
+     * @param subtrahend the amount to subtract, in minor units.
+     * @return the exact difference.
+     * @throws ArithmeticException if the difference overflows.
+     */
+    public static long subtract(final long minuend, final long subtrahend) {
+        return Math.subtractExact(minuend, subtrahend);
+    }
+
+    /**
+     * Multiplies an amount by a factor such as an exchange or interest rate.
+     *
+     * @param minorUnits the amount in minor units.
+     * @param factor     the factor to multiply by.
+     * @param mode       how to round a fraction of a minor unit.
+     * @return the product in minor units.
+     */
+    public static long multiply(final long minorUnits, final double factor,
+                                final RoundingMode mode) {
+        return round(minorUnits * factor, mode);
+    }
+
+    /**
+     * Takes a percentage of an amount, given in basis points.
+     * The product is computed on integers, so the only loss is the final rounding.
+     *
+     * @param minorUnits  the amount in minor units.
+     * @param basisPoints the percentage in basis points; 20 is 0.2%.
+     * @param mode        how to round a fraction of a minor unit.
+     * @return the percentage of the amount, in minor units.
+     * @throws ArithmeticException if the intermediate product overflows.
+     */
+    public static long percentOf(final long minorUnits, final long basisPoints,
+                                 final RoundingMode mode) {
+        return divide(Math.multiplyExact(minorUnits, basisPoints), BASIS_POINTS_PER_UNIT, mode);
+    }
+
+    /**
+     * Computes the commission the bank takes on an outgoing amount.
+     * Standard plans pay 0.2% of every amount, silver plans pay 0.1% of amounts
+     * worth at least 500 RON, and the other plans pay none.
+     *
+     * @param minorUnits  the amount in minor units.
+     * @param plan        the service plan of the paying user.
+     * @param amountInRon the amount's value in RON, checked against the silver threshold.
+     * @return the commission in minor units, with the ledger rounding.
+     */
+    public static long commission(final long minorUnits, final String plan,
+                                  final double amountInRon) {
+        if ("standard".equals(plan)) {
+            return percentOf(minorUnits, STANDARD_COMMISSION_BASIS_POINTS, LEDGER_ROUNDING);
+        }
+        if ("silver".equals(plan) && amountInRon >= SILVER_COMMISSION_THRESHOLD_RON) {
+            return percentOf(minorUnits, SILVER_COMMISSION_BASIS_POINTS, LEDGER_ROUNDING);
+        }
+        return 0;
+    }
+
+    /**
+     * Divides two integers, rounding the quotient.
+     *
+     * @param dividend the dividend.
+     * @param divisor  the divisor.
+     * @param mode     how to round the quotient.
+     * @return the rounded quotient.
+     * @throws ArithmeticException if the divisor is zero, or the quotient needs
+     *                             rounding under {@link RoundingMode#UNNECESSARY}.
+     */
+    public static long divide(final long dividend, final long divisor, final RoundingMode mode) {
+        final long quotient = dividend / divisor;
+        final long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        final int sign = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        final long absRemainder = Math.abs(remainder);
+        final long absDivisor = Math.abs(divisor);
+        // > 0 past the half, 0 exactly on it, < 0 below it
+        final int half = Long.compare(absRemainder, absDivisor - absRemainder);
+
+        return roundsAway(mode, sign, half, (quotient & 1) != 0) ? quotient + sign : quotient;
+    }
+
+    /**
+     * Rounds a value to a whole number of minor units.
+     *
+     * @param value the value, in minor units.
+     * @param mode  how to round it.
+     * @return the rounded value.
+     */
+    private static long round(final double value, final RoundingMode mode) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Amount is not a finite number: " + value);
+        }
+
+        final double magnitude = Math.abs(value);
+        final double truncated = Math.floor(magnitude);
+        final double fraction = magnitude - truncated;
+        double rounded = truncated;
+        if (fraction != 0) {
+            final int half = Double.compare(fraction, HALF);
+            if (roundsAway(mode, value < 0 ? -1 : 1, half, truncated % 2 != 0)) {
+                rounded = truncated + 1;
+            }
+        }
+
+        if (rounded >= LONG_RANGE) {
+            throw new ArithmeticException("Amount out of range: " + value);
+        }
+        return value < 0 ? -(long) rounded : (long) rounded;
+    }
+
+    /**
+     * Decides whether a value with a discarded fraction rounds away from zero.
+     *
+     * @param mode the rounding mode.
+     * @param sign the sign of the value, 1 or -1.
+     * @param half how the fraction compares to one half.
+     * @param odd  whether the truncated value is odd.
+     * @return true to round away from zero, false to truncate.
+     */
+    private static boolean roundsAway(final RoundingMode mode, final int sign, final int half,
+                                      final boolean odd) {
+        switch (mode) {
+            case UP:
+                return true;
+            case DOWN:
+                return false;
+            case CEILING:
+                return sign > 0;
+            case FLOOR:
+                return sign < 0;
+            case HALF_UP:
+                return half >= 0;
+            case HALF_DOWN:
+                return half > 0;
+            case HALF_EVEN:
+                return half > 0 || (half == 0 && odd);
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+    }
+}
@@ -2,11 +2,13 @@ package org.poo.utils;
 
 import java.util.Random;
 
-public final class Utils {
-    private Utils() {
-        // Checkstyle error free constructor
-    }
-
+/**
+ * Generates the IBANs and card numbers of one bank. The sequences are
+ * seeded, so a run hands out the same numbers every time, and each bank
+ * has its own generators, so banks running side by side do not disturb
+ * each other's sequences.
+ */
+public final class NumberGenerator {
     private static final int IBAN_SEED = 1;
     private static final int CARD_SEED = 2;
     private static final int DIGIT_BOUND = 10;
@@ -14,16 +16,15 @@ public final class Utils {
     private static final String RO_STR = "RO";
     private static final String POO_STR = "POOB";
 
-
-    private static Random ibanRandom = new Random(IBAN_SEED);
-    private static Random cardRandom = new Random(CARD_SEED);
+    private Random ibanRandom = new Random(IBAN_SEED);
+    private Random cardRandom = new Random(CARD_SEED);
 
     /**
-     * Utility method for generating an IBAN code.
+     * Generates an IBAN code.
      *
      * @return the IBAN as String
      */
-    public static String generateIBAN() {
+    public String generateIBAN() {
         StringBuilder sb = new StringBuilder(RO_STR);
         for (int i = 0; i < RO_STR.length(); i++) {
             sb.append(ibanRandom.nextInt(DIGIT_BOUND));
@@ -38,11 +39,11 @@ public final class Utils {
     }
 
     /**
-     * Utility method for generating a card number.
+     * Generates a card number.
      *
      * @return the card number as String
      */
-    public static String generateCardNumber() {
+    public String generateCardNumber() {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < DIGIT_GENERATION; i++) {
             sb.append(cardRandom.nextInt(DIGIT_BOUND));
@@ -52,9 +53,9 @@ public final class Utils {
     }
 
     /**
-     * Resets the seeds between runs.
+     * Resets the seeds, restarting both sequences.
      */
-    public static void resetRandom() {
+    public void reset() {
         ibanRandom = new Random(IBAN_SEED);
         cardRandom = new Random(CARD_SEED);
     }
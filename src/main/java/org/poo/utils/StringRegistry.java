@@ -0,0 +1,96 @@
+package org.poo.utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Intern pool of one bank for strings such as IBANs, emails, descriptions and
+ * commerciant names. Every string gets a dense integer id, so row stores can
+ * keep an {@code int} per value instead of a reference, and entities keep the
+ * pooled instance of their strings, so equal values are held once however
+ * many entities repeat them. Ids are only meaningful within the bank that
+ * handed them out, and the pool goes away with it.
+ * <p>
+ * Lookups never lock, so the pool can be read while another thread of the
+ * same bank interns into it; new strings are registered one at a time.
+ */
+public final class StringRegistry {
+    /**
+     * Id used for a missing (null) string.
+     */
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] strings = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the id of a string, interning it if it is new.
+     *
+     * @param value the string, or null.
+     * @return the id of the string, or {@link #NONE} for null.
+     */
+    public int idOf(final String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : register(value);
+    }
+
+    /**
+     * Returns the pooled instance of a string, pooling it if it is new.
+     * Entities call this on the strings they are constructed with.
+     *
+     * @param value the string, or null.
+     * @return the pooled string equal to the value, or null.
+     */
+    public String intern(final String value) {
+        return stringOf(idOf(value));
+    }
+
+    /**
+     * Returns the string of an id.
+     *
+     * @param id the id of the string.
+     * @return the string, or null for {@link #NONE}.
+     * @throws IllegalArgumentException if the id was never handed out.
+     */
+    public String stringOf(final int id) {
+        if (id == NONE) {
+            return null;
+        }
+        String[] known = strings;
+        String value = id >= 0 && id < known.length ? known[id] : null;
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown string id: " + id);
+        }
+        return value;
+    }
+
+    /**
+     * Assigns the next id to a string, unless another thread already did.
+     * The string is stored before its id is published, so a reader that
+     * got the id from {@link #idOf} always finds the string.
+     *
+     * @param value the string to intern.
+     * @return the id of the string.
+     */
+    private synchronized int register(final String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        String[] known = strings;
+        if (size == known.length) {
+            known = Arrays.copyOf(known, size * 2);
+        }
+        known[size] = value;
+        strings = known;
+        ids.put(value, size);
+        return size++;
+    }
+}
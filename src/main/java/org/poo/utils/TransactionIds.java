@@ -0,0 +1,91 @@
+package org.poo.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered 64-bit transaction ids without locking.
+ * An id packs, from the high bits down, the milliseconds since {@link #EPOCH_MILLIS},
+ * the node the bank runs on and a per-millisecond sequence number:
+ * <pre>
+ *   [ 41 bits time | 10 bits node | 12 bits sequence ]
+ * </pre>
+ * Ids handed out by one node are strictly increasing, so they sort in
+ * creation order. When a millisecond runs out of sequence numbers, or the
+ * clock steps back, the generator keeps counting from its last id instead
+ * of waiting for the clock.
+ */
+public final class TransactionIds {
+    private TransactionIds() {
+        // Checkstyle error free constructor
+    }
+
+    /**
+     * System property with the id of this node, from 0 to {@link #MAX_NODE}.
+     */
+    public static final String NODE_PROPERTY = "bank.node";
+
+    /**
+     * Start of the id clock: 2024-01-01T00:00:00Z.
+     */
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int TIME_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    /**
+     * Largest node id.
+     */
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private static final long NODE = readNode();
+    private static final AtomicLong LAST_ID = new AtomicLong();
+
+    /**
+     * Returns the next id. Safe to call from any number of threads.
+     *
+     * @return an id greater than every id this node returned before.
+     */
+    public static long next() {
+        while (true) {
+            final long last = LAST_ID.get();
+            final long lastTime = last >>> TIME_SHIFT;
+            final long now = System.currentTimeMillis() - EPOCH_MILLIS;
+
+            final long id;
+            if (now > lastTime) {
+                id = (now << TIME_SHIFT) | (NODE << SEQUENCE_BITS);
+            } else if ((last & MAX_SEQUENCE) < MAX_SEQUENCE) {
+                id = last + 1;
+            } else {
+                // Sequence exhausted: borrow the next millisecond
+                id = ((lastTime + 1) << TIME_SHIFT) | (NODE << SEQUENCE_BITS);
+            }
+
+            if (LAST_ID.compareAndSet(last, id)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Reads the node id from the {@value #NODE_PROPERTY} system property.
+     *
+     * @return the node id, 0 when the property is not set.
+     * @throws IllegalArgumentException if the property is not a valid node id.
+     */
+    private static long readNode() {
+        final String value = System.getProperty(NODE_PROPERTY, "0");
+        final int node;
+        try {
+            node = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid node id: " + value, e);
+        }
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id out of range: " + node);
+        }
+        return node;
+    }
+}